@@ -0,0 +1,141 @@
+package com.reactive.preypredator;
+
+import com.reactive.preypredator.config.SimulationConfig;
+import com.reactive.preypredator.environment.ReactiveEnvironment;
+import com.reactive.preypredator.model.ExecutionMode;
+import com.reactive.preypredator.statistics.Statistics;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * Repeatability check for the concurrent engines: runs each mode several times from one seed
+ * with several workers and compares the statistics of every tick against its first run.
+ * PARALLEL, VIRTUAL and JADE replay the tick in agent-list order, so they must also agree
+ * with each other.
+ * Usage: DeterminismCheck [--ticks=N] [--seed=N] [--workers=N] [--runs=N] [--mode=NAME]...
+ * Workers default to at least 4 so chunks really overlap; on fewer cores also start the JVM
+ * with -XX:ActiveProcessorCount=4, which sizes the virtual-thread scheduler too.
+ * Exits with status 1 on any divergence.
+ */
+public class DeterminismCheck {
+    private static final EnumSet<ExecutionMode> LIST_ORDERED =
+            EnumSet.of(ExecutionMode.PARALLEL, ExecutionMode.VIRTUAL, ExecutionMode.JADE);
+
+    public static void main(String[] args) throws IOException {
+        int ticks = 300;
+        long seed = 7;
+        int workers = Math.max(4, java.lang.Runtime.getRuntime().availableProcessors());
+        int runs = 3;
+        List<ExecutionMode> modes = new ArrayList<>();
+
+        for (String arg : args) {
+            if (arg.startsWith("--ticks=")) {
+                ticks = Integer.parseInt(arg.substring("--ticks=".length()));
+            } else if (arg.startsWith("--seed=")) {
+                seed = Long.parseLong(arg.substring("--seed=".length()));
+            } else if (arg.startsWith("--workers=")) {
+                workers = Math.max(1, Integer.parseInt(arg.substring("--workers=".length())));
+            } else if (arg.startsWith("--runs=")) {
+                runs = Math.max(2, Integer.parseInt(arg.substring("--runs=".length())));
+            } else if (arg.startsWith("--mode=")) {
+                modes.add(ExecutionMode.valueOf(arg.substring("--mode=".length()).toUpperCase()));
+            } else {
+                throw new IllegalArgumentException("Unknown argument: " + arg);
+            }
+        }
+        if (modes.isEmpty()) {
+            modes.add(ExecutionMode.PARALLEL);
+            modes.add(ExecutionMode.VIRTUAL);
+            modes.add(ExecutionMode.TILED);
+        }
+
+        System.out.printf("Determinism check: %d ticks, seed %d, %d workers, %d runs per mode%n",
+                ticks, seed, workers, runs);
+
+        boolean ok = true;
+        ExecutionMode referenceMode = null;
+        List<Statistics> reference = null;
+        for (ExecutionMode mode : modes) {
+            List<Statistics> first = run(mode, ticks, seed, workers);
+            boolean repeats = true;
+            for (int r = 1; r < runs && repeats; r++) {
+                int tick = firstDivergence(first, run(mode, ticks, seed, workers));
+                if (tick >= 0) {
+                    System.out.printf("  %-8s run %d diverges from run 0 at tick %d%n", mode, r, tick);
+                    repeats = false;
+                }
+            }
+            if (repeats) {
+                System.out.printf("  %-8s repeats over %d runs (%d ticks)%n", mode, runs, first.size());
+            }
+            ok &= repeats;
+
+            if (!LIST_ORDERED.contains(mode)) continue;
+            if (reference == null) {
+                referenceMode = mode;
+                reference = first;
+            } else {
+                int tick = firstDivergence(reference, first);
+                if (tick >= 0) {
+                    System.out.printf("  %-8s differs from %s at tick %d%n", mode, referenceMode, tick);
+                    ok = false;
+                } else {
+                    System.out.printf("  %-8s matches %s%n", mode, referenceMode);
+                }
+            }
+        }
+
+        System.out.println(ok ? "OK" : "FAILED");
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+
+    private static List<Statistics> run(ExecutionMode mode, int ticks, long seed, int workers) throws IOException {
+        Path csv = Files.createTempFile("determinism-", ".csv");
+        SimulationConfig config = SimulationConfig.builder()
+                .executionMode(mode)
+                .consoleTickSummaries(false)
+                .maxTicks(ticks)
+                .randomSeed(seed)
+                .parallelThreads(workers)
+                .csvOutputFile(csv.toString())
+                .build();
+        ReactiveEnvironment environment = new ReactiveEnvironment(config);
+        try {
+            HeadlessSimulation.run(environment, ticks);
+            return new ArrayList<>(environment.getDataLogger().getHistory());
+        } finally {
+            environment.getDataLogger().close();
+            environment.shutdown();
+            Files.deleteIfExists(csv);
+        }
+    }
+
+    /**
+     * @return the first tick whose statistics differ, or -1 if the runs agree throughout
+     */
+    private static int firstDivergence(List<Statistics> a, List<Statistics> b) {
+        int common = Math.min(a.size(), b.size());
+        for (int i = 0; i < common; i++) {
+            Statistics x = a.get(i);
+            Statistics y = b.get(i);
+            if (x.getPreyCount() != y.getPreyCount()
+                    || x.getPredatorCount() != y.getPredatorCount()
+                    || Double.compare(x.getAvgPreyEnergy(), y.getAvgPreyEnergy()) != 0
+                    || Double.compare(x.getAvgPredatorEnergy(), y.getAvgPredatorEnergy()) != 0
+                    || Double.compare(x.getGrassCoverage(), y.getGrassCoverage()) != 0) {
+                return x.getTick();
+            }
+        }
+        if (a.size() != b.size()) {
+            return (a.size() > common ? a : b).get(common).getTick();
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,74 @@
+package com.reactive.preypredator;
+
+import com.reactive.preypredator.config.SimulationConfig;
+import com.reactive.preypredator.environment.ReactiveEnvironment;
+import com.reactive.preypredator.model.ExecutionMode;
+import com.reactive.preypredator.statistics.Statistics;
+
+/**
+ * Batch entry point: runs the simulation without Swing or JADE, as fast as the CPU allows
+ * Usage: HeadlessSimulation [ticks] [csvFile] [--seed=N] [--parallel | --mode=NAME] [--set=FIELD=VALUE]... [--verbose]
+ * --mode takes any ExecutionMode, so the same run can be timed under each backend
+ * --set overrides any SimulationConfig field by its Config name, e.g. --set=PREY_VISION_RANGE=8
+ */
+public class HeadlessSimulation {
+
+    public static void main(String[] args) {
+        SimulationConfig.Builder config = SimulationConfig.builder()
+                .executionMode(ExecutionMode.HEADLESS)
+                .consoleTickSummaries(false);
+
+        for (String arg : args) {
+            if (arg.equals("--verbose")) {
+                config.consoleTickSummaries(true);
+            } else if (arg.startsWith("--seed=")) {
+                config.randomSeed(Long.parseLong(arg.substring("--seed=".length())));
+            } else if (arg.equals("--parallel")) {
+                config.executionMode(ExecutionMode.PARALLEL);
+            } else if (arg.startsWith("--mode=")) {
+                config.executionMode(ExecutionMode.valueOf(arg.substring("--mode=".length()).toUpperCase()));
+            } else if (arg.startsWith("--set=")) {
+                String assignment = arg.substring("--set=".length());
+                int eq = assignment.indexOf('=');
+                if (eq < 0) {
+                    throw new IllegalArgumentException("Expected --set=FIELD=VALUE, got " + arg);
+                }
+                config.set(assignment.substring(0, eq), assignment.substring(eq + 1));
+            } else if (arg.matches("\\d+")) {
+                config.maxTicks(Integer.parseInt(arg));
+            } else {
+                config.csvOutputFile(arg);
+            }
+        }
+
+        ReactiveEnvironment environment = new ReactiveEnvironment(config.build());
+
+        long start = System.nanoTime();
+        int executed = run(environment, environment.getConfig().maxTicks);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        environment.getDataLogger().printSummary();
+        System.out.printf(environment.getConfig().executionMode + " run: %d ticks in %.2f s (%.0f ticks/s)%n",
+                executed, seconds, executed / Math.max(seconds, 1e-9));
+        System.out.println("Contested kills: " + environment.getContestedKills());
+        environment.shutdown();
+    }
+
+    /**
+     * Tick until {@code ticks} have run or both species are extinct
+     * @return the number of ticks executed
+     */
+    public static int run(ReactiveEnvironment environment, int ticks) {
+        int executed = 0;
+        while (executed < ticks) {
+            environment.tick();
+            executed++;
+
+            Statistics latest = environment.getDataLogger().getLatest();
+            if (latest != null && latest.getPreyCount() == 0 && latest.getPredatorCount() == 0) {
+                break;
+            }
+        }
+        return executed;
+    }
+}
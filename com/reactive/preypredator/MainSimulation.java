@@ -1,6 +1,5 @@
 package com.reactive.preypredator;
 
-import com.reactive.preypredator.config.Config;
 import com.reactive.preypredator.environment.ReactiveEnvironment;
 import com.reactive.preypredator.ui.*;
 
@@ -179,6 +178,7 @@ public class MainSimulation extends JFrame {
         running = true;
         paused = false;
 
+        int tickDurationMs = environment.getConfig().tickDurationMs;
         simulationThread = new Thread(() -> {
             while (running) {
                 if (!paused) {
@@ -189,7 +189,7 @@ public class MainSimulation extends JFrame {
                     });
                 }
                 try {
-                    Thread.sleep(Config.TICK_DURATION_MS);
+                    Thread.sleep(tickDurationMs);
                 } catch (InterruptedException e) {
                     break;
                 }
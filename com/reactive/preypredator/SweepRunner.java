@@ -0,0 +1,239 @@
+package com.reactive.preypredator;
+
+import com.reactive.preypredator.config.SimulationConfig;
+import com.reactive.preypredator.environment.ReactiveEnvironment;
+import com.reactive.preypredator.model.ExecutionMode;
+import com.reactive.preypredator.statistics.Statistics;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Parameter sweep: runs one headless simulation per parameter set, several at a time on a
+ * bounded pool. Every run owns its environment and SimulationConfig, so runs share the JVM
+ * without seeing each other's settings.
+ * Usage: SweepRunner [--ticks=N] [--seed=N] [--threads=N] [--mode=NAME] [--out=DIR]
+ *                    [--param=FIELD=v1,v2,...]... [--sets=FILE]
+ * --param values are crossed into a grid. Each non-blank line of --sets holds one set as
+ * space separated FIELD=VALUE pairs and is crossed with the grid when both are given.
+ * Run i uses seed N+i and streams its statistics to DIR/run-i.csv;
+ * DIR/summary.csv holds the final statistics of every run.
+ */
+public class SweepRunner {
+
+    public static void main(String[] args) throws Exception {
+        int ticks = 1000;
+        long baseSeed = 1;
+        int threads = java.lang.Runtime.getRuntime().availableProcessors();
+        ExecutionMode mode = ExecutionMode.HEADLESS;
+        Path out = Paths.get("sweep");
+        Map<String, List<String>> grid = new LinkedHashMap<>();
+        List<Map<String, String>> sets = new ArrayList<>();
+
+        for (String arg : args) {
+            if (arg.startsWith("--ticks=")) {
+                ticks = Integer.parseInt(arg.substring("--ticks=".length()));
+            } else if (arg.startsWith("--seed=")) {
+                baseSeed = Long.parseLong(arg.substring("--seed=".length()));
+            } else if (arg.startsWith("--threads=")) {
+                threads = Math.max(1, Integer.parseInt(arg.substring("--threads=".length())));
+            } else if (arg.startsWith("--mode=")) {
+                mode = ExecutionMode.valueOf(arg.substring("--mode=".length()).toUpperCase());
+            } else if (arg.startsWith("--out=")) {
+                out = Paths.get(arg.substring("--out=".length()));
+            } else if (arg.startsWith("--param=")) {
+                String[] kv = splitAssignment(arg.substring("--param=".length()));
+                grid.put(kv[0], List.of(kv[1].split(",")));
+            } else if (arg.startsWith("--sets=")) {
+                sets.addAll(readSets(Paths.get(arg.substring("--sets=".length()))));
+            } else {
+                throw new IllegalArgumentException("Unknown argument: " + arg);
+            }
+        }
+
+        List<Map<String, String>> points = cross(sets.isEmpty() ? List.of(new LinkedHashMap<>()) : sets, grid);
+        Files.createDirectories(out);
+
+        // Built up front so a bad field name fails before anything runs
+        List<Run> runs = new ArrayList<>();
+        for (int i = 0; i < points.size(); i++) {
+            SimulationConfig.Builder config = SimulationConfig.builder()
+                    .executionMode(mode)
+                    .consoleTickSummaries(false)
+                    .maxTicks(ticks)
+                    .randomSeed(baseSeed + i)
+                    .csvOutputFile(out.resolve(String.format("run-%03d.csv", i)).toString());
+            for (Map.Entry<String, String> e : points.get(i).entrySet()) {
+                config.set(e.getKey(), e.getValue());
+            }
+            runs.add(new Run(i, points.get(i), config.build()));
+        }
+
+        System.out.printf("Sweep: %d runs of %d ticks, %s mode, %d at a time -> %s%n",
+                runs.size(), ticks, mode, threads, out);
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<RunResult>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+        try {
+            for (Run run : runs) {
+                futures.add(pool.submit(run::execute));
+            }
+
+            List<RunResult> results = new ArrayList<>();
+            for (Future<RunResult> future : futures) {
+                try {
+                    RunResult result = future.get();
+                    results.add(result);
+                    System.out.printf("  run %d done in %.1f s%n", result.index, result.seconds);
+                } catch (ExecutionException e) {
+                    System.err.println("Sweep run failed: " + e.getCause());
+                }
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            writeSummary(out.resolve("summary.csv"), results);
+            printSummary(results, seconds, threads);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static String[] splitAssignment(String assignment) {
+        int eq = assignment.indexOf('=');
+        if (eq <= 0) {
+            throw new IllegalArgumentException("Expected FIELD=VALUE, got " + assignment);
+        }
+        return new String[]{assignment.substring(0, eq).trim(), assignment.substring(eq + 1).trim()};
+    }
+
+    private static List<Map<String, String>> readSets(Path file) throws IOException {
+        List<Map<String, String>> sets = new ArrayList<>();
+        for (String line : Files.readAllLines(file)) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+            Map<String, String> set = new LinkedHashMap<>();
+            for (String assignment : line.split("\\s+")) {
+                String[] kv = splitAssignment(assignment);
+                set.put(kv[0], kv[1]);
+            }
+            sets.add(set);
+        }
+        return sets;
+    }
+
+    /**
+     * Every base set combined with every point of the grid, later fields varying fastest
+     */
+    private static List<Map<String, String>> cross(List<Map<String, String>> base, Map<String, List<String>> grid) {
+        List<Map<String, String>> result = base;
+        for (Map.Entry<String, List<String>> axis : grid.entrySet()) {
+            List<Map<String, String>> next = new ArrayList<>();
+            for (Map<String, String> set : result) {
+                for (String value : axis.getValue()) {
+                    Map<String, String> point = new LinkedHashMap<>(set);
+                    point.put(axis.getKey(), value.trim());
+                    next.add(point);
+                }
+            }
+            result = next;
+        }
+        return result;
+    }
+
+    private static String describe(Map<String, String> params) {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, String> e : params.entrySet()) {
+            if (sb.length() > 0) sb.append(' ');
+            sb.append(e.getKey()).append('=').append(e.getValue());
+        }
+        return sb.length() == 0 ? "(defaults)" : sb.toString();
+    }
+
+    private static void writeSummary(Path file, List<RunResult> results) throws IOException {
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(file))) {
+            writer.println("Run,Seed,Params,Seconds," + Statistics.getCSVHeader());
+            for (RunResult r : results) {
+                writer.printf("%d,%d,\"%s\",%.3f,%s%n", r.index, r.seed, describe(r.params),
+                        r.seconds, r.last != null ? r.last.toCSV() : ",,,,,");
+            }
+        }
+    }
+
+    private static void printSummary(List<RunResult> results, double seconds, int threads) {
+        System.out.println("\n════════════════════════════════════════════════════════");
+        System.out.println("                     SWEEP SUMMARY                       ");
+        System.out.println("════════════════════════════════════════════════════════");
+        System.out.printf("%4s %6s %6s %5s %5s %7s %8s  %s%n",
+                "Run", "Seed", "Ticks", "Prey", "Pred", "Grass", "Secs", "Params");
+
+        long totalTicks = 0;
+        for (RunResult r : results) {
+            Statistics s = r.last;
+            totalTicks += s != null ? s.getTick() : 0;
+            System.out.printf("%4d %6d %6s %5s %5s %7s %8.1f  %s%n", r.index, r.seed,
+                    s != null ? s.getTick() : "-",
+                    s != null ? s.getPreyCount() : "-",
+                    s != null ? s.getPredatorCount() : "-",
+                    s != null ? String.format("%.1f%%", s.getGrassCoverage() * 100) : "-",
+                    r.seconds, describe(r.params));
+        }
+        System.out.println("════════════════════════════════════════════════════════");
+        System.out.printf("%d ticks across %d runs in %.2f s: %.0f ticks/s total, %.0f ticks/s per worker%n",
+                totalTicks, results.size(), seconds, totalTicks / Math.max(seconds, 1e-9),
+                totalTicks / Math.max(seconds, 1e-9) / threads);
+    }
+
+    private static final class Run {
+        final int index;
+        final Map<String, String> params;
+        final SimulationConfig config;
+
+        Run(int index, Map<String, String> params, SimulationConfig config) {
+            this.index = index;
+            this.params = params;
+            this.config = config;
+        }
+
+        RunResult execute() {
+            long start = System.nanoTime();
+            ReactiveEnvironment environment = new ReactiveEnvironment(config);
+            try {
+                HeadlessSimulation.run(environment, config.maxTicks);
+            } finally {
+                environment.getDataLogger().close();
+                environment.shutdown();
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            return new RunResult(index, config.randomSeed, params, seconds, environment.getDataLogger().getLatest());
+        }
+    }
+
+    private static final class RunResult {
+        final int index;
+        final long seed;
+        final Map<String, String> params;
+        final double seconds;
+        final Statistics last;     // null when the run logged no ticks
+
+        RunResult(int index, long seed, Map<String, String> params, double seconds, Statistics last) {
+            this.index = index;
+            this.seed = seed;
+            this.params = params;
+            this.seconds = seconds;
+            this.last = last;
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package com.reactive.preypredator.agents;
+
+import com.reactive.preypredator.model.Gender;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Structure-of-arrays storage for one species: every per-agent value lives in a
+ * primitive column indexed by a dense slot, and {@link ReactiveAgent} objects are
+ * thin handles onto a slot. Deaths swap-remove (the last agent moves into the hole),
+ * births append. Removed handles can be parked in a bounded pool and handed back
+ * to a later birth, so boom/bust cycles do not churn agent and behaviour objects.
+ *
+ * Columns are only reallocated between ticks: births are queued during a tick and
+ * appended once its barrier has passed, so agents writing their own slot from
+ * several threads can never lose a write to a concurrent resize.
+ *
+ * The live count and total live energy are kept as striped running sums, updated on
+ * every birth, energy write and death, so statistics never need a scan and can be
+ * read mid-tick from any thread. Each slot's share of the energy sum is tracked in its
+ * own stamped column and moved by CAS, so an energy write racing a death on the same
+ * slot can neither be lost nor counted twice.
+ *
+ * During a buffered tick other agents perceive a species through a snapshot of its
+ * alive, energy and reproduction cooldown columns taken when the tick opened (see
+ * {@link #freeze}), so what an agent sees never depends on whether a neighbour's
+ * thread has already run.
+ */
+public class AgentStore<A extends ReactiveAgent> {
+    private static final Gender[] GENDERS = Gender.values();
+    // Kills race across agent threads, so the alive column is also flipped by CAS
+    private static final VarHandle ALIVE = MethodHandles.arrayElementVarHandle(boolean[].class);
+    private static final VarHandle ENERGY = MethodHandles.arrayElementVarHandle(int[].class);
+    private static final VarHandle COUNTED = MethodHandles.arrayElementVarHandle(long[].class);
+
+    int size;
+    int[] x;
+    int[] y;
+    int[] energy;
+    byte[] gender;
+    int[] reproductionCooldown;
+    int[] ticksWithoutFood;
+    int[] ticksSinceLastMeal;
+    int[] eatingCooldown;
+    boolean[] alive;
+    long[] counted;     // per slot: update stamp (high half) and energy share in liveEnergy (low half)
+    ReactiveAgent[] handles;
+
+    // Tick-start copies read by perceiving agents while frozen; set between ticks only
+    private boolean[] frozenAlive = new boolean[0];
+    private int[] frozenEnergy = new int[0];
+    private int[] frozenCooldown = new int[0];
+    private boolean frozen;
+
+    private final LongAdder liveCount = new LongAdder();
+    private final LongAdder liveEnergy = new LongAdder();
+    private final ArrayDeque<A> pool = new ArrayDeque<>();
+    private final int poolCapacity;
+
+    public AgentStore(int initialCapacity, int poolCapacity) {
+        this.poolCapacity = poolCapacity;
+        int capacity = Math.max(16, initialCapacity);
+        x = new int[capacity];
+        y = new int[capacity];
+        energy = new int[capacity];
+        gender = new byte[capacity];
+        reproductionCooldown = new int[capacity];
+        ticksWithoutFood = new int[capacity];
+        ticksSinceLastMeal = new int[capacity];
+        eatingCooldown = new int[capacity];
+        alive = new boolean[capacity];
+        counted = new long[capacity];
+        handles = new ReactiveAgent[capacity];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getLiveCount() {
+        return liveCount.sum();
+    }
+
+    public long getLiveEnergy() {
+        return liveEnergy.sum();
+    }
+
+    /**
+     * Grow every column to hold at least {@code capacity} agents
+     */
+    public void ensureCapacity(int capacity) {
+        if (capacity <= handles.length) return;
+        int newCapacity = Math.max(capacity, handles.length * 2);
+        x = Arrays.copyOf(x, newCapacity);
+        y = Arrays.copyOf(y, newCapacity);
+        energy = Arrays.copyOf(energy, newCapacity);
+        gender = Arrays.copyOf(gender, newCapacity);
+        reproductionCooldown = Arrays.copyOf(reproductionCooldown, newCapacity);
+        ticksWithoutFood = Arrays.copyOf(ticksWithoutFood, newCapacity);
+        ticksSinceLastMeal = Arrays.copyOf(ticksSinceLastMeal, newCapacity);
+        eatingCooldown = Arrays.copyOf(eatingCooldown, newCapacity);
+        alive = Arrays.copyOf(alive, newCapacity);
+        counted = Arrays.copyOf(counted, newCapacity);
+        handles = Arrays.copyOf(handles, newCapacity);
+    }
+
+    int append(ReactiveAgent handle, int posX, int posY, Gender g, int startEnergy) {
+        ensureCapacity(size + 1);
+        int slot = size;
+        x[slot] = posX;
+        y[slot] = posY;
+        energy[slot] = startEnergy;
+        gender[slot] = (byte) g.ordinal();
+        reproductionCooldown[slot] = 0;
+        ticksWithoutFood[slot] = 0;
+        ticksSinceLastMeal[slot] = 0;
+        eatingCooldown[slot] = 0;
+        alive[slot] = true;
+        counted[slot] = startEnergy & 0xFFFFFFFFL;
+        handles[slot] = handle;
+        size++;
+        liveCount.increment();
+        liveEnergy.add(startEnergy);
+        return slot;
+    }
+
+    void setEnergy(int slot, int value) {
+        ENERGY.setVolatile(energy, slot, value);
+        recount(slot);
+    }
+
+    /**
+     * @return the energy after adding {@code delta}
+     */
+    int addEnergy(int slot, int delta) {
+        int value = (int) ENERGY.getAndAdd(energy, slot, delta) + delta;
+        recount(slot);
+        return value;
+    }
+
+    /**
+     * Flip a slot to dead with a CAS, so the live count drops it exactly once
+     * @return true only for the caller that made the change
+     */
+    boolean markDead(int slot) {
+        if (!ALIVE.compareAndSet(alive, slot, true, false)) return false;
+        liveCount.decrement();
+        recount(slot);
+        return true;
+    }
+
+    void markAlive(int slot) {
+        if (!ALIVE.compareAndSet(alive, slot, false, true)) return;
+        liveCount.increment();
+        recount(slot);
+    }
+
+    /**
+     * Bring the slot's share of liveEnergy in line with its columns: its energy while alive,
+     * 0 once dead. Every energy or alive write is followed by a recount. The stamp changes on
+     * every successful CAS, so a recount that read the columns before another one landed
+     * fails and rereads them; the last recount to land has seen every write.
+     */
+    private void recount(int slot) {
+        while (true) {
+            long previous = (long) COUNTED.getVolatile(counted, slot);
+            int share = (boolean) ALIVE.getVolatile(alive, slot) ? (int) ENERGY.getVolatile(energy, slot) : 0;
+            long next = ((previous >>> 32) + 1) << 32 | (share & 0xFFFFFFFFL);
+            if (COUNTED.compareAndSet(counted, slot, previous, next)) {
+                liveEnergy.add(share - (int) previous);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Snapshot the perceived columns for a buffered tick; slots do not move until {@link #thaw}
+     */
+    public void freeze() {
+        if (frozenAlive.length < size) {
+            frozenAlive = new boolean[handles.length];
+            frozenEnergy = new int[handles.length];
+            frozenCooldown = new int[handles.length];
+        }
+        System.arraycopy(alive, 0, frozenAlive, 0, size);
+        System.arraycopy(energy, 0, frozenEnergy, 0, size);
+        System.arraycopy(reproductionCooldown, 0, frozenCooldown, 0, size);
+        frozen = true;
+    }
+
+    public void thaw() {
+        frozen = false;
+    }
+
+    boolean perceivedAlive(int slot) {
+        return frozen ? frozenAlive[slot] : alive[slot];
+    }
+
+    int perceivedEnergy(int slot) {
+        return frozen ? frozenEnergy[slot] : energy[slot];
+    }
+
+    int perceivedCooldown(int slot) {
+        return frozen ? frozenCooldown[slot] : reproductionCooldown[slot];
+    }
+
+    /**
+     * Swap-remove: the last agent takes over the freed slot and its handle is re-pointed
+     */
+    public void remove(ReactiveAgent handle) {
+        int slot = handle.slot;
+        if (slot < 0 || handles[slot] != handle) return;
+        markDead(slot);
+
+        int last = --size;
+        if (slot != last) {
+            x[slot] = x[last];
+            y[slot] = y[last];
+            energy[slot] = energy[last];
+            gender[slot] = gender[last];
+            reproductionCooldown[slot] = reproductionCooldown[last];
+            ticksWithoutFood[slot] = ticksWithoutFood[last];
+            ticksSinceLastMeal[slot] = ticksSinceLastMeal[last];
+            eatingCooldown[slot] = eatingCooldown[last];
+            alive[slot] = alive[last];
+            counted[slot] = counted[last];
+            handles[slot] = handles[last];
+            handles[slot].slot = slot;
+        }
+        handles[last] = null;
+        handle.slot = -1;
+    }
+
+    /**
+     * Park a removed handle for reuse
+     * @return false if the pool is full and the handle should be torn down
+     */
+    public boolean recycle(A handle) {
+        if (handle.slot >= 0 || pool.size() >= poolCapacity) return false;
+        pool.push(handle);
+        return true;
+    }
+
+    /**
+     * @return a parked handle to respawn, or null if none is available
+     */
+    public A reuse() {
+        return pool.poll();
+    }
+
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    static Gender genderOf(byte ordinal) {
+        return GENDERS[ordinal];
+    }
+
+    /**
+     * Forward-only iteration over the dense slots, reading columns without going through handles
+     */
+    public final class Cursor {
+        private int slot = -1;
+
+        public boolean next() {
+            return ++slot < size;
+        }
+
+        @SuppressWarnings("unchecked")
+        public A agent() {
+            return (A) handles[slot];
+        }
+
+        public int x() {
+            return x[slot];
+        }
+
+        public int y() {
+            return y[slot];
+        }
+
+        public int energy() {
+            return energy[slot];
+        }
+
+        public Gender gender() {
+            return genderOf(gender[slot]);
+        }
+
+        public boolean alive() {
+            return alive[slot];
+        }
+    }
+}
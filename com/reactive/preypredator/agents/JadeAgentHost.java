@@ -0,0 +1,48 @@
+package com.reactive.preypredator.agents;
+
+import jade.core.Agent;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JADE shell around a plain reactive agent: gives it a container identity and a thread,
+ * while the simulation state and rules stay in the wrapped {@link ReactiveAgent}.
+ * JADE serialises an agent to move it between containers, so the behaviour (which holds
+ * the engine and the world) is taken off before a move and picked up again on arrival
+ * through an in-process hand-over table; the containers must share this JVM.
+ */
+public class JadeAgentHost extends Agent {
+    private static final Map<String, JadeTickBehavior> IN_TRANSIT = new ConcurrentHashMap<>();
+
+    private transient JadeTickBehavior behavior;
+    private transient ReactiveAgent body;
+
+    @Override
+    protected void setup() {
+        Object[] args = getArguments();
+        if (args != null && args.length >= 1) {
+            this.behavior = (JadeTickBehavior) args[0];
+            this.body = behavior.getBody();
+
+            addBehaviour(behavior);
+        }
+    }
+
+    @Override
+    protected void beforeMove() {
+        removeBehaviour(behavior);
+        IN_TRANSIT.put(getLocalName(), behavior);
+    }
+
+    @Override
+    protected void afterMove() {
+        this.behavior = IN_TRANSIT.remove(getLocalName());
+        this.body = behavior.getBody();
+        addBehaviour(behavior);
+    }
+
+    public ReactiveAgent getBody() {
+        return body;
+    }
+}
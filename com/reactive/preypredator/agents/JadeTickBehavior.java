@@ -0,0 +1,126 @@
+package com.reactive.preypredator.agents;
+
+import com.reactive.preypredator.environment.JadeTickEngine;
+import com.reactive.preypredator.environment.ReactiveEnvironment;
+import jade.core.behaviours.CyclicBehaviour;
+
+/**
+ * Waits for the environment to open a tick, lets the hosted agent react once, then reports back.
+ * The last tick phase seen is remembered, so the agent cannot run twice in the same tick.
+ * Created by the engine and handed to its {@link JadeAgentHost}, so the engine can park it
+ * while the agent sits in the recycling pool and rejoin it when the agent is respawned.
+ * When region containers are in use and the agent has crossed into another region, the host
+ * first migrates there and the agent reacts once it has arrived, still within the same tick.
+ */
+public class JadeTickBehavior extends CyclicBehaviour {
+    private static final int PARKED = Integer.MAX_VALUE;
+
+    private final JadeTickEngine engine;
+    private final ReactiveEnvironment environment;
+    private final ReactiveAgent body;
+    private int lastPhase;
+    private volatile int joinPhase;     // runs only in tick phases after this one
+    private boolean retired;
+    private volatile int region;        // container the host currently lives in, -1 for main
+    private int segment;                // WorldBuffer segment of the tick, set before the gate opens
+
+    public JadeTickBehavior(JadeTickEngine engine, ReactiveEnvironment environment,
+                            ReactiveAgent body, int joinPhase, int region) {
+        this.engine = engine;
+        this.environment = environment;
+        this.body = body;
+        this.lastPhase = joinPhase;
+        this.joinPhase = joinPhase;
+        this.region = region;
+    }
+
+    public int getRegion() {
+        return region;
+    }
+
+    /**
+     * Stop taking part in ticks; the host stays alive but sleeps on its own monitor,
+     * so pooled agents cost no wakeups
+     */
+    public synchronized void park() {
+        joinPhase = PARKED;
+    }
+
+    /**
+     * Take part again from the tick after {@code phase}
+     */
+    public synchronized void join(int phase) {
+        joinPhase = phase;
+        notifyAll();
+    }
+
+    /**
+     * Release the host for good: it deletes itself instead of waiting for another tick
+     */
+    public synchronized void retire() {
+        retired = true;
+        joinPhase = PARKED;
+        notifyAll();
+    }
+
+    /**
+     * Segment the agent writes to in the coming tick: its place in the tick's agent list
+     */
+    public void assignSegment(int segment) {
+        this.segment = segment;
+    }
+
+    public ReactiveAgent getBody() {
+        return body;
+    }
+
+    @Override
+    public void action() {
+        int phase;
+        try {
+            synchronized (this) {
+                while (joinPhase == PARKED && !retired) {
+                    wait();
+                }
+                if (retired) {
+                    myAgent.doDelete();
+                    return;
+                }
+            }
+            phase = engine.getTickGate().awaitAdvanceInterruptibly(lastPhase);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (phase < 0) {    // engine shut down
+            myAgent.doDelete();
+            return;
+        }
+
+        // Parked, or woken late for a tick that ran before the agent (re)joined: not registered
+        int joined = joinPhase;
+        if (joined == PARKED || phase <= joined) {
+            lastPhase = phase;
+            return;
+        }
+
+        // Crossed a region border: move first, lastPhase stays put so this tick runs on arrival
+        int home = engine.regionOf(body);
+        if (home != region) {
+            region = home;
+            myAgent.doMove(engine.regionLocation(home));
+            return;
+        }
+        lastPhase = phase;
+
+        engine.enterSegment(segment);
+        try {
+            if (body.isAlive()) {
+                body.react(environment);
+            }
+        } finally {
+            engine.exitSegment();
+            engine.signalAgentCompletion(segment);
+        }
+    }
+}
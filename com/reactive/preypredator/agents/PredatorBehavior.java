@@ -1,66 +1,42 @@
 package com.reactive.preypredator.agents;
 
-import com.reactive.preypredator.config.Config;
+import com.reactive.preypredator.config.SimulationConfig;
 import com.reactive.preypredator.environment.ReactiveEnvironment;
 import com.reactive.preypredator.model.Gender;
 import com.reactive.preypredator.model.Position;
-import jade.core.behaviours.CyclicBehaviour;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 /**
  * ADAPTED: Low starvation + eating cooldown + very slow reproduction
  */
-public class PredatorBehavior extends CyclicBehaviour {
+public class PredatorBehavior {
     private final PredatorAgent agent;
     private final ReactiveEnvironment environment;
-    private final Random random;
+    private final SimulationConfig config;
+    private final SplittableRandom random;
 
     public PredatorBehavior(PredatorAgent agent, ReactiveEnvironment environment) {
-        super(agent);
         this.agent = agent;
         this.environment = environment;
-        this.random = new Random();
+        this.config = environment.getConfig();
+        this.random = environment.getRandomStreams().forAgent(agent.getId());
     }
 
-    @Override
+    /**
+     * One tick of predator rules: hunt, chase or wander, starve, reproduce
+     */
     public void action() {
-        synchronized (environment.getTickLock()) {
-            while (!environment.isTickActive()) {
-                try {
-                    environment.getTickLock().wait();
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    return;
-                }
-            }
-        }
-
-        if (!agent.isAlive()) {
-            environment.signalAgentCompletion();
-            return;
-        }
+        if (!agent.isAlive()) return;
 
         Position currentPos = agent.getPosition();
         boolean ateFood = false;
 
-        // 1. Try to hunt adjacent prey (only if eating cooldown = 0)
+        // 1. Try to hunt adjacent prey (only if eating cooldown = 0); buffered ticks eat at the swap
         if (agent.getEatingCooldown() == 0) {
-            List<PreyAgent> adjacentPrey = environment.getNearbyPreyAgents(currentPos, 1);
-
-            if (!adjacentPrey.isEmpty()) {
-                PreyAgent prey = adjacentPrey.get(0);
-                prey.setAlive(false);
-                environment.removeDeadAgent(prey.getLocalName());
-
-                agent.setEnergy(agent.getEnergy() + Config.PREDATOR_ENERGY_FROM_PREY);
-                agent.resetTicksWithoutFood();
-                agent.setTicksSinceLastMeal(0);
-                agent.setEatingCooldown(Config.PREDATOR_EATING_COOLDOWN); // NEW: cooldown
-                ateFood = true;
-            }
+            ateFood = environment.interact(agent, environment.getNearbyPreyAgents(currentPos, 1), this::eat);
         }
 
         if (!ateFood) {
@@ -72,47 +48,55 @@ public class PredatorBehavior extends CyclicBehaviour {
         }
 
         // 2. Movement: Chase prey or wander
-        List<Position> preyPositions = environment.getNearbyPreyPositions(
-                currentPos, Config.PREDATOR_VISION_RANGE);
+        PreyAgent target = environment.findNearestPrey(currentPos, config.predatorVisionRange);
+        Position targetPos = target != null ? target.getPosition() : null;
 
         Position nextPos;
-        if (!preyPositions.isEmpty()) {
-            Position target = findNearest(currentPos, preyPositions);
-            nextPos = moveToward(currentPos, target);
+        if (targetPos != null) {
+            nextPos = moveToward(currentPos, targetPos);
         } else {
             nextPos = randomWalk(currentPos);
         }
 
         if (nextPos != null && !nextPos.equals(currentPos)) {
-            environment.moveAgent(agent.getLocalName(), nextPos);
-            agent.setPosition(nextPos);
+            environment.moveAgent(agent, nextPos);
         }
 
         // 3. LOW energy cost (adapted from friend's config)
-        agent.consumeEnergy(Config.PREDATOR_ENERGY_MOVE_COST);
+        agent.consumeEnergy(config.predatorEnergyMoveCost);
 
         // 4. Cooldown decrements
         agent.decrementReproductionCooldown();
         agent.decrementEatingCooldown(); // NEW
 
         // 5. DEATH CONDITIONS (more lenient now)
-        boolean starvedByEnergy = agent.getEnergy() <= Config.PREDATOR_STARVATION_THRESHOLD;
-        boolean starvedByTime = agent.getTicksWithoutFood() >= Config.PREDATOR_MAX_TICKS_WITHOUT_FOOD;
+        boolean starvedByEnergy = agent.getEnergy() <= config.predatorStarvationThreshold;
+        boolean starvedByTime = agent.getTicksWithoutFood() >= config.predatorMaxTicksWithoutFood;
 
         if (starvedByEnergy || starvedByTime) {
             agent.setAlive(false);
-            environment.removeDeadAgent(agent.getLocalName());
-            environment.signalAgentCompletion();
+            environment.removeDeadAgent(agent);
             return;
         }
 
         // 6. REPRODUCTION: Very long cooldown prevents explosions
         if (agent.getReproductionCooldown() == 0 &&
-                agent.getEnergy() >= Config.PREDATOR_REPRODUCTION_THRESHOLD) {
+                agent.getEnergy() >= config.predatorReproductionThreshold) {
             attemptReproduction();
         }
+    }
 
-        environment.signalAgentCompletion();
+    /**
+     * Settle a hunt: fails if this predator is dead by now or another one got the prey first
+     */
+    private boolean eat(PreyAgent prey) {
+        if (!agent.isAlive() || !environment.claimPrey(prey)) return false;
+
+        agent.setEnergy(agent.getEnergy() + config.predatorEnergyFromPrey);
+        agent.resetTicksWithoutFood();
+        agent.setTicksSinceLastMeal(0);
+        agent.setEatingCooldown(config.predatorEatingCooldown); // NEW: cooldown
+        return true;
     }
 
     private Position moveToward(Position current, Position target) {
@@ -152,39 +136,34 @@ public class PredatorBehavior extends CyclicBehaviour {
         return neighbors;
     }
 
-    private Position findNearest(Position current, List<Position> positions) {
-        Position nearest = null;
-        double minDist = Double.MAX_VALUE;
-
-        for (Position pos : positions) {
-            double dist = current.distanceTo(pos);
-            if (dist < minDist) {
-                minDist = dist;
-                nearest = pos;
-            }
-        }
-
-        return nearest;
-    }
-
     private void attemptReproduction() {
         List<PredatorAgent> nearbyPredators = environment.getNearbyPredatorAgents(
                 agent.getPosition(), 2);
+        nearbyPredators.removeIf(mate -> mate.getPerceivedReproductionCooldown() != 0 ||
+                mate.getPerceivedEnergy() < config.predatorReproductionThreshold);
+
+        environment.interact(agent, nearbyPredators, this::mateWith);
+    }
 
-        for (PredatorAgent mate : nearbyPredators) {
-            if (mate.getReproductionCooldown() == 0 &&
-                    mate.getEnergy() >= Config.PREDATOR_REPRODUCTION_THRESHOLD) {
+    /**
+     * Settle a mating; an earlier kill or mating in the same tick may have changed either partner
+     */
+    private boolean mateWith(PredatorAgent mate) {
+        if (!isFertile(agent) || !isFertile(mate)) return false;
 
-                environment.createPredatorOffspring(agent.getPosition());
+        environment.createPredatorOffspring(agent.getPosition());
 
-                agent.setReproductionCooldown(Config.PREDATOR_REPRODUCTION_COOLDOWN);
-                mate.setReproductionCooldown(Config.PREDATOR_REPRODUCTION_COOLDOWN);
+        agent.setReproductionCooldown(config.predatorReproductionCooldown);
+        mate.setReproductionCooldown(config.predatorReproductionCooldown);
 
-                // Use config cost
-                agent.setEnergy(agent.getEnergy() - Config.PREDATOR_REPRODUCTION_COST);
-                mate.setEnergy(mate.getEnergy() - Config.PREDATOR_REPRODUCTION_COST);
-                break;
-            }
-        }
+        // Use config cost
+        agent.setEnergy(agent.getEnergy() - config.predatorReproductionCost);
+        mate.setEnergy(mate.getEnergy() - config.predatorReproductionCost);
+        return true;
+    }
+
+    private boolean isFertile(PredatorAgent predator) {
+        return predator.isAlive() && predator.getReproductionCooldown() == 0 &&
+                predator.getEnergy() >= config.predatorReproductionThreshold;
     }
 }
@@ -1,115 +1,90 @@
 package com.reactive.preypredator.agents;
 
-import com.reactive.preypredator.config.Config;
+import com.reactive.preypredator.config.SimulationConfig;
+import com.reactive.preypredator.environment.DangerField;
 import com.reactive.preypredator.environment.ReactiveEnvironment;
-import com.reactive.preypredator.model.Cell;
 import com.reactive.preypredator.model.Gender;
 import com.reactive.preypredator.model.Position;
-import jade.core.behaviours.CyclicBehaviour;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 /**
  * ADAPTED: Low energy loss + slow reproduction
  */
-public class PreyBehavior extends CyclicBehaviour {
+public class PreyBehavior {
     private final PreyAgent agent;
     private final ReactiveEnvironment environment;
-    private final Random random;
+    private final SimulationConfig config;
+    private final SplittableRandom random;
 
     public PreyBehavior(PreyAgent agent, ReactiveEnvironment environment) {
-        super(agent);
         this.agent = agent;
         this.environment = environment;
-        this.random = new Random();
+        this.config = environment.getConfig();
+        this.random = environment.getRandomStreams().forAgent(agent.getId());
     }
 
-    @Override
+    /**
+     * One tick of prey rules: graze, flee or seek grass, move, reproduce
+     */
     public void action() {
-        synchronized (environment.getTickLock()) {
-            while (!environment.isTickActive()) {
-                try {
-                    environment.getTickLock().wait();
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    return;
-                }
-            }
-        }
-
-        if (!agent.isAlive()) {
-            environment.signalAgentCompletion();
-            return;
-        }
+        if (!agent.isAlive()) return;
 
         // 1. Try to eat grass
         Position currentPos = agent.getPosition();
-        Cell currentCell = environment.getGrid().getCell(currentPos.x, currentPos.y);
 
-        if (currentCell != null && currentCell.hasGrass()) {
-            currentCell.eatGrass();
-            agent.setEnergy(agent.getEnergy() + Config.PREY_ENERGY_FROM_GRASS);
+        if (environment.getGrid().hasGrass(currentPos.x, currentPos.y)) {
+            environment.eatGrass(currentPos);
+            agent.setEnergy(agent.getEnergy() + config.preyEnergyFromGrass);
             agent.resetTicksWithoutFood();
         } else {
             agent.incrementTicksWithoutFood();
         }
 
-        // 2. Check for nearby predators and flee
-        List<Position> predatorPositions = environment.getNearbyPredatorPositions(
-                currentPos, Config.PREY_VISION_RANGE);
+        // 2. Flee down the danger gradient if a predator is within reach
+        DangerField danger = environment.getDangerField();
 
         Position nextPos;
-        if (!predatorPositions.isEmpty()) {
-            nextPos = fleeFromPredators(currentPos, predatorPositions);
+        if (danger.isThreatened(currentPos)) {
+            nextPos = fleeFromPredators(currentPos, danger);
         } else {
             nextPos = seekGrass(currentPos);
         }
 
         // 3. Move
         if (nextPos != null && !nextPos.equals(currentPos)) {
-            environment.moveAgent(agent.getLocalName(), nextPos);
-            agent.setPosition(nextPos);
+            environment.moveAgent(agent, nextPos);
         }
 
         // LOW energy cost (adapted from friend's config)
-        agent.consumeEnergy(Config.PREY_ENERGY_MOVE_COST);
+        agent.consumeEnergy(config.preyEnergyMoveCost);
 
         // 4. Cooldown
         agent.decrementReproductionCooldown();
 
         // 5. Death check
-        if (agent.getEnergy() <= Config.PREY_STARVATION_THRESHOLD) {
+        if (agent.getEnergy() <= config.preyStarvationThreshold) {
             agent.setAlive(false);
-            environment.removeDeadAgent(agent.getLocalName());
-            environment.signalAgentCompletion();
+            environment.removeDeadAgent(agent);
             return;
         }
 
         // 6. Reproduction (long cooldown prevents explosion)
         if (agent.getReproductionCooldown() == 0 &&
-                agent.getEnergy() >= Config.PREY_REPRODUCTION_THRESHOLD) {
+                agent.getEnergy() >= config.preyReproductionThreshold) {
             attemptReproduction();
         }
-
-        environment.signalAgentCompletion();
     }
 
-    private Position fleeFromPredators(Position current, List<Position> predators) {
-        Position nearest = findNearest(current, predators);
-        if (nearest == null) return current;
-
-        int dx = current.x - nearest.x;
-        int dy = current.y - nearest.y;
-
-        double magnitude = Math.sqrt(dx * dx + dy * dy);
-        if (magnitude > 0) {
-            dx = (int) Math.round(dx / magnitude);
-            dy = (int) Math.round(dy / magnitude);
-        }
-
-        List<Position> candidates = new ArrayList<>();
+    /**
+     * Step to the free neighbour with the least danger, the first one found on ties;
+     * stay put when no neighbour is safer than the current cell
+     */
+    private Position fleeFromPredators(Position current, DangerField danger) {
+        Position safest = current;
+        int safestDanger = danger.dangerAt(current.x, current.y);
         for (int i = -1; i <= 1; i++) {
             for (int j = -1; j <= 1; j++) {
                 if (i == 0 && j == 0) continue;
@@ -117,36 +92,20 @@ public class PreyBehavior extends CyclicBehaviour {
                 int newY = current.y + j;
 
                 if (environment.isPositionAvailable(newX, newY)) {
-                    Position candidate = new Position(newX, newY);
-                    if (i == dx || j == dy) {
-                        candidates.add(0, candidate);
-                    } else {
-                        candidates.add(candidate);
+                    int d = danger.dangerAt(newX, newY);
+                    if (d < safestDanger) {
+                        safestDanger = d;
+                        safest = new Position(newX, newY);
                     }
                 }
             }
         }
-
-        return candidates.isEmpty() ? current : candidates.get(0);
+        return safest;
     }
 
     private Position seekGrass(Position current) {
-        List<Position> grassPositions = new ArrayList<>();
-
-        for (int dx = -Config.PREY_VISION_RANGE; dx <= Config.PREY_VISION_RANGE; dx++) {
-            for (int dy = -Config.PREY_VISION_RANGE; dy <= Config.PREY_VISION_RANGE; dy++) {
-                int x = current.x + dx;
-                int y = current.y + dy;
-
-                Cell cell = environment.getGrid().getCell(x, y);
-                if (cell != null && cell.hasGrass()) {
-                    grassPositions.add(new Position(x, y));
-                }
-            }
-        }
-
-        if (!grassPositions.isEmpty()) {
-            Position target = findNearest(current, grassPositions);
+        Position target = environment.getGrassField().nearestGrass(current);
+        if (target != null) {
             return moveToward(current, target);
         }
 
@@ -190,39 +149,34 @@ public class PreyBehavior extends CyclicBehaviour {
         return neighbors;
     }
 
-    private Position findNearest(Position current, List<Position> positions) {
-        Position nearest = null;
-        double minDist = Double.MAX_VALUE;
-
-        for (Position pos : positions) {
-            double dist = current.distanceTo(pos);
-            if (dist < minDist) {
-                minDist = dist;
-                nearest = pos;
-            }
-        }
-
-        return nearest;
-    }
-
     private void attemptReproduction() {
         List<PreyAgent> nearbyPrey = environment.getNearbyPreyAgents(
                 agent.getPosition(), 2);
+        nearbyPrey.removeIf(mate -> mate.getPerceivedReproductionCooldown() != 0 ||
+                mate.getPerceivedEnergy() < config.preyReproductionThreshold);
 
-        for (PreyAgent mate : nearbyPrey) {
-            if (mate.getReproductionCooldown() == 0 &&
-                    mate.getEnergy() >= Config.PREY_REPRODUCTION_THRESHOLD) {
+        environment.interact(agent, nearbyPrey, this::mateWith);
+    }
 
-                environment.createPreyOffspring(agent.getPosition());
+    /**
+     * Settle a mating; an earlier kill or mating in the same tick may have changed either partner
+     */
+    private boolean mateWith(PreyAgent mate) {
+        if (!isFertile(agent) || !isFertile(mate)) return false;
 
-                agent.setReproductionCooldown(Config.PREY_REPRODUCTION_COOLDOWN);
-                mate.setReproductionCooldown(Config.PREY_REPRODUCTION_COOLDOWN);
+        environment.createPreyOffspring(agent.getPosition());
 
-                // Use config cost
-                agent.setEnergy(agent.getEnergy() - Config.PREY_REPRODUCTION_COST);
-                mate.setEnergy(mate.getEnergy() - Config.PREY_REPRODUCTION_COST);
-                break;
-            }
-        }
+        agent.setReproductionCooldown(config.preyReproductionCooldown);
+        mate.setReproductionCooldown(config.preyReproductionCooldown);
+
+        // Use config cost
+        agent.setEnergy(agent.getEnergy() - config.preyReproductionCost);
+        mate.setEnergy(mate.getEnergy() - config.preyReproductionCost);
+        return true;
+    }
+
+    private boolean isFertile(PreyAgent prey) {
+        return prey.isAlive() && prey.getReproductionCooldown() == 0 &&
+                prey.getEnergy() >= config.preyReproductionThreshold;
     }
 }
@@ -5,25 +5,30 @@ import com.reactive.preypredator.model.Position;
 import com.reactive.preypredator.environment.ReactiveEnvironment;
 
 /**
- * Abstract base class for all reactive agents
+ * Abstract base class for all reactive agents.
+ * The object is a handle: its state lives in the species' {@link AgentStore} columns.
+ * Once removed (or while pooled) a handle has no slot: getters return a neutral value
+ * (null, -1 for coordinates, 0 or false otherwise) and setters do nothing.
  */
 public abstract class ReactiveAgent {
-    protected String id;
-    protected Position position;
-    protected int energy;
-    protected Gender gender;
-    protected int reproductionCooldown;
-    protected int ticksWithoutFood;
-    protected boolean alive;
-
-    public ReactiveAgent(String id, Position position, int energy) {
+    protected final String id;
+    protected final AgentStore<?> store;
+    int slot;   // maintained by AgentStore, -1 once removed
+
+    public ReactiveAgent(AgentStore<?> store, String id, Position position, Gender gender, int energy) {
+        this.store = store;
         this.id = id;
-        this.position = position;
-        this.energy = energy;
-        this.gender = Gender.random();
-        this.reproductionCooldown = 0;
-        this.ticksWithoutFood = 0;
-        this.alive = true;
+        this.slot = store.append(this, position.x, position.y, gender, energy);
+    }
+
+    /**
+     * Bring a recycled handle back as a newborn: it keeps its id and behaviour,
+     * every column starts from scratch in a fresh slot
+     */
+    public abstract void respawn(Position position, Gender gender);
+
+    void respawn(Position position, Gender gender, int energy) {
+        this.slot = store.append(this, position.x, position.y, gender, energy);
     }
 
     /**
@@ -34,69 +39,141 @@ public abstract class ReactiveAgent {
     /**
      * Consume energy from movement or actions
      */
-    protected void consumeEnergy(double amount) {
-        energy -= (int) amount;
-        if (energy <= 0) {
-            alive = false;
+    public void consumeEnergy(double amount) {
+        int s = slot;
+        if (s < 0) return;
+        int remaining = store.addEnergy(s, -(int) amount);
+        if (remaining <= 0) {
+            store.markDead(s);
         }
     }
 
+    /**
+     * Id-based rather than identity-based, so hash-ordered collections such as the
+     * spatial index buckets iterate in the same order on every seeded run
+     */
+    @Override
+    public int hashCode() {
+        return id.hashCode();
+    }
+
     // Getters and setters
     public String getId() {
         return id;
     }
 
+    /**
+     * @return a fresh Position, or null once the agent has been removed from its store
+     */
     public Position getPosition() {
-        return position;
+        int s = slot;
+        return s < 0 ? null : new Position(store.x[s], store.y[s]);
+    }
+
+    public int getX() {
+        int s = slot;
+        return s < 0 ? -1 : store.x[s];
+    }
+
+    public int getY() {
+        int s = slot;
+        return s < 0 ? -1 : store.y[s];
     }
 
     public void setPosition(Position position) {
-        this.position = position;
+        int s = slot;
+        if (s < 0) return;
+        store.x[s] = position.x;
+        store.y[s] = position.y;
     }
 
     public int getEnergy() {
-        return energy;
+        int s = slot;
+        return s < 0 ? 0 : store.energy[s];
     }
 
     public void setEnergy(int energy) {
-        this.energy = Math.max(0, energy);
+        int s = slot;
+        if (s >= 0) store.setEnergy(s, Math.max(0, energy));
     }
 
     public Gender getGender() {
-        return gender;
+        int s = slot;
+        return s < 0 ? null : AgentStore.genderOf(store.gender[s]);
     }
 
     public boolean isAlive() {
-        return alive;
+        int s = slot;
+        return s >= 0 && store.alive[s];
+    }
+
+    /**
+     * As other agents see it: the value the agent started the tick with while a buffered
+     * tick is running, its live state otherwise
+     */
+    public boolean isPerceivedAlive() {
+        int s = slot;
+        return s >= 0 && store.perceivedAlive(s);
+    }
+
+    public int getPerceivedEnergy() {
+        int s = slot;
+        return s < 0 ? 0 : store.perceivedEnergy(s);
+    }
+
+    public int getPerceivedReproductionCooldown() {
+        int s = slot;
+        return s < 0 ? 0 : store.perceivedCooldown(s);
     }
 
     public void setAlive(boolean alive) {
-        this.alive = alive;
+        int s = slot;
+        if (s < 0) return;
+        if (alive) {
+            store.markAlive(s);
+        } else {
+            store.markDead(s);
+        }
+    }
+
+    /**
+     * Flip alive to false with a CAS
+     * @return true only for the one caller that actually killed the agent
+     */
+    public boolean kill() {
+        int s = slot;
+        return s >= 0 && store.markDead(s);
     }
 
     public int getReproductionCooldown() {
-        return reproductionCooldown;
+        int s = slot;
+        return s < 0 ? 0 : store.reproductionCooldown[s];
     }
 
     public void setReproductionCooldown(int cooldown) {
-        this.reproductionCooldown = cooldown;
+        int s = slot;
+        if (s >= 0) store.reproductionCooldown[s] = cooldown;
     }
 
     public void decrementReproductionCooldown() {
-        if (reproductionCooldown > 0) {
-            reproductionCooldown--;
+        int s = slot;
+        if (s >= 0 && store.reproductionCooldown[s] > 0) {
+            store.reproductionCooldown[s]--;
         }
     }
 
     public int getTicksWithoutFood() {
-        return ticksWithoutFood;
+        int s = slot;
+        return s < 0 ? 0 : store.ticksWithoutFood[s];
     }
 
     public void incrementTicksWithoutFood() {
-        ticksWithoutFood++;
+        int s = slot;
+        if (s >= 0) store.ticksWithoutFood[s]++;
     }
 
     public void resetTicksWithoutFood() {
-        ticksWithoutFood = 0;
+        int s = slot;
+        if (s >= 0) store.ticksWithoutFood[s] = 0;
     }
 }
@@ -1,10 +1,12 @@
 package com.reactive.preypredator.config;
 
+import com.reactive.preypredator.model.ExecutionMode;
 import com.reactive.preypredator.model.PlacementMode;
 
 /**
  * Configuration adapted from continuous-space Lotka-Volterra system
  * KEY INSIGHT: LOW starvation + VERY SLOW reproduction = stable oscillations
+ * These are the defaults the UI edits; a run reads its own {@link SimulationConfig} snapshot.
  */
 public class Config {
 
@@ -44,6 +46,7 @@ public class Config {
 
     // ============ ENV ============
     public static int GRASS_REGROWTH_TICKS = 25;        // Moderate regrowth
+    public static int BIRTH_SEARCH_RADIUS = 2;          // Offspring land within this many cells of the parent when possible
     public static double GRASS_INITIAL_COVERAGE = 0.60; // More grass
     public static double OBSTACLE_COVERAGE = 0.05;
 
@@ -51,6 +54,18 @@ public class Config {
     public static int TICK_DURATION_MS = 100;           // Faster ticks
     public static int MAX_TICKS = 5000;
     public static String CSV_OUTPUT_FILE = "simulation_data.csv";
+    public static boolean CONSOLE_TICK_SUMMARIES = true; // Per-tick console report in DataLogger
+    public static long RANDOM_SEED = 0L;                // Master seed for every random stream, 0 = from clock
+
+    // ============ PERFORMANCE ============
+    public static ExecutionMode EXECUTION_MODE = ExecutionMode.JADE; // JADE, HEADLESS, PARALLEL, VIRTUAL or TILED
+    public static int SPATIAL_INDEX_BUCKET_SIZE = 8;    // Cells per spatial-index bucket side
+    public static int PARALLEL_THREADS = 0;             // PARALLEL and TILED mode workers, 0 = all cores
+    public static int PARALLEL_CHUNK_SIZE = 256;        // Agents per fork/join leaf task
+    public static int TILE_SIZE = 64;                   // TILED mode tile side in cells, rounded down to whole index buckets
+    public static long TICK_STRAGGLER_REPORT_MS = 5000; // JADE: warn while agents are still running after this, 0 = never
+    public static int JADE_REGION_CONTAINERS = 0;       // JADE: peripheral containers, one per vertical band of the grid, 0 = main only
+    public static int AGENT_POOL_CAPACITY = 1024;       // Dead agents kept per species for reuse by later births
 
     // ============ UI ============
     public static final int CELL_SIZE = 15;
@@ -88,10 +103,22 @@ public class Config {
         PREDATOR_EATING_COOLDOWN = 10;
 
         GRASS_REGROWTH_TICKS = 25;
+        BIRTH_SEARCH_RADIUS = 2;
         GRASS_INITIAL_COVERAGE = 0.60;
         OBSTACLE_COVERAGE = 0.05;
 
         TICK_DURATION_MS = 100;
         MAX_TICKS = 5000;
+        CONSOLE_TICK_SUMMARIES = true;
+        RANDOM_SEED = 0L;
+
+        EXECUTION_MODE = ExecutionMode.JADE;
+        SPATIAL_INDEX_BUCKET_SIZE = 8;
+        PARALLEL_THREADS = 0;
+        PARALLEL_CHUNK_SIZE = 256;
+        TILE_SIZE = 64;
+        JADE_REGION_CONTAINERS = 0;
+        TICK_STRAGGLER_REPORT_MS = 5000;
+        AGENT_POOL_CAPACITY = 1024;
     }
 }
@@ -0,0 +1,436 @@
+package com.reactive.preypredator.config;
+
+import com.reactive.preypredator.model.ExecutionMode;
+import com.reactive.preypredator.model.PlacementMode;
+
+import java.lang.reflect.Field;
+
+/**
+ * Immutable settings of one simulation run. Each ReactiveEnvironment owns one and hands
+ * it to the grid, engines and behaviours, so several runs can share a JVM and the values
+ * can be read from final fields in hot loops. The static {@link Config} fields only seed
+ * {@link #defaults()}, which is what the UI editors change.
+ * Fields mirror Config's, named in camel case; {@link Builder#set} takes Config's names.
+ */
+public final class SimulationConfig {
+
+    // Grid
+    public final int gridWidth;
+    public final int gridHeight;
+    public final PlacementMode placementMode;
+
+    // Initial population
+    public final int initialPreyCount;
+    public final int initialPredatorCount;
+
+    // Prey
+    public final int preyEnergyStart;
+    public final int preyEnergyMax;
+    public final int preyEnergyFromGrass;
+    public final double preyEnergyMoveCost;
+    public final int preyReproductionThreshold;
+    public final int preyReproductionCooldown;
+    public final int preyReproductionCost;
+    public final int preyStarvationThreshold;
+    public final int preyVisionRange;
+
+    // Predator
+    public final int predatorEnergyStart;
+    public final int predatorEnergyMax;
+    public final int predatorEnergyFromPrey;
+    public final double predatorEnergyMoveCost;
+    public final int predatorReproductionThreshold;
+    public final int predatorReproductionCooldown;
+    public final int predatorReproductionCost;
+    public final int predatorStarvationThreshold;
+    public final int predatorMaxTicksWithoutFood;
+    public final int predatorVisionRange;
+    public final int predatorEatingCooldown;
+
+    // Environment
+    public final int grassRegrowthTicks;
+    public final int birthSearchRadius;
+    public final double grassInitialCoverage;
+    public final double obstacleCoverage;
+
+    // Run
+    public final int tickDurationMs;
+    public final int maxTicks;
+    public final String csvOutputFile;
+    public final boolean consoleTickSummaries;
+    public final long randomSeed;
+
+    // Performance
+    public final ExecutionMode executionMode;
+    public final int spatialIndexBucketSize;
+    public final int parallelThreads;
+    public final int parallelChunkSize;
+    public final int tileSize;
+    public final long tickStragglerReportMs;
+    public final int jadeRegionContainers;
+    public final int agentPoolCapacity;
+
+    private SimulationConfig(Builder b) {
+        this.gridWidth = b.gridWidth;
+        this.gridHeight = b.gridHeight;
+        this.placementMode = b.placementMode;
+        this.initialPreyCount = b.initialPreyCount;
+        this.initialPredatorCount = b.initialPredatorCount;
+        this.preyEnergyStart = b.preyEnergyStart;
+        this.preyEnergyMax = b.preyEnergyMax;
+        this.preyEnergyFromGrass = b.preyEnergyFromGrass;
+        this.preyEnergyMoveCost = b.preyEnergyMoveCost;
+        this.preyReproductionThreshold = b.preyReproductionThreshold;
+        this.preyReproductionCooldown = b.preyReproductionCooldown;
+        this.preyReproductionCost = b.preyReproductionCost;
+        this.preyStarvationThreshold = b.preyStarvationThreshold;
+        this.preyVisionRange = b.preyVisionRange;
+        this.predatorEnergyStart = b.predatorEnergyStart;
+        this.predatorEnergyMax = b.predatorEnergyMax;
+        this.predatorEnergyFromPrey = b.predatorEnergyFromPrey;
+        this.predatorEnergyMoveCost = b.predatorEnergyMoveCost;
+        this.predatorReproductionThreshold = b.predatorReproductionThreshold;
+        this.predatorReproductionCooldown = b.predatorReproductionCooldown;
+        this.predatorReproductionCost = b.predatorReproductionCost;
+        this.predatorStarvationThreshold = b.predatorStarvationThreshold;
+        this.predatorMaxTicksWithoutFood = b.predatorMaxTicksWithoutFood;
+        this.predatorVisionRange = b.predatorVisionRange;
+        this.predatorEatingCooldown = b.predatorEatingCooldown;
+        this.grassRegrowthTicks = b.grassRegrowthTicks;
+        this.birthSearchRadius = b.birthSearchRadius;
+        this.grassInitialCoverage = b.grassInitialCoverage;
+        this.obstacleCoverage = b.obstacleCoverage;
+        this.tickDurationMs = b.tickDurationMs;
+        this.maxTicks = b.maxTicks;
+        this.csvOutputFile = b.csvOutputFile;
+        this.consoleTickSummaries = b.consoleTickSummaries;
+        this.randomSeed = b.randomSeed;
+        this.executionMode = b.executionMode;
+        this.spatialIndexBucketSize = b.spatialIndexBucketSize;
+        this.parallelThreads = b.parallelThreads;
+        this.parallelChunkSize = b.parallelChunkSize;
+        this.tileSize = b.tileSize;
+        this.tickStragglerReportMs = b.tickStragglerReportMs;
+        this.jadeRegionContainers = b.jadeRegionContainers;
+        this.agentPoolCapacity = b.agentPoolCapacity;
+    }
+
+    /**
+     * Snapshot of the current static Config values
+     */
+    public static SimulationConfig defaults() {
+        return builder().build();
+    }
+
+    /**
+     * A builder starting from the current static Config values
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+        private int gridWidth = Config.GRID_WIDTH;
+        private int gridHeight = Config.GRID_HEIGHT;
+        private PlacementMode placementMode = Config.PLACEMENT_MODE;
+        private int initialPreyCount = Config.INITIAL_PREY_COUNT;
+        private int initialPredatorCount = Config.INITIAL_PREDATOR_COUNT;
+        private int preyEnergyStart = Config.PREY_ENERGY_START;
+        private int preyEnergyMax = Config.PREY_ENERGY_MAX;
+        private int preyEnergyFromGrass = Config.PREY_ENERGY_FROM_GRASS;
+        private double preyEnergyMoveCost = Config.PREY_ENERGY_MOVE_COST;
+        private int preyReproductionThreshold = Config.PREY_REPRODUCTION_THRESHOLD;
+        private int preyReproductionCooldown = Config.PREY_REPRODUCTION_COOLDOWN;
+        private int preyReproductionCost = Config.PREY_REPRODUCTION_COST;
+        private int preyStarvationThreshold = Config.PREY_STARVATION_THRESHOLD;
+        private int preyVisionRange = Config.PREY_VISION_RANGE;
+        private int predatorEnergyStart = Config.PREDATOR_ENERGY_START;
+        private int predatorEnergyMax = Config.PREDATOR_ENERGY_MAX;
+        private int predatorEnergyFromPrey = Config.PREDATOR_ENERGY_FROM_PREY;
+        private double predatorEnergyMoveCost = Config.PREDATOR_ENERGY_MOVE_COST;
+        private int predatorReproductionThreshold = Config.PREDATOR_REPRODUCTION_THRESHOLD;
+        private int predatorReproductionCooldown = Config.PREDATOR_REPRODUCTION_COOLDOWN;
+        private int predatorReproductionCost = Config.PREDATOR_REPRODUCTION_COST;
+        private int predatorStarvationThreshold = Config.PREDATOR_STARVATION_THRESHOLD;
+        private int predatorMaxTicksWithoutFood = Config.PREDATOR_MAX_TICKS_WITHOUT_FOOD;
+        private int predatorVisionRange = Config.PREDATOR_VISION_RANGE;
+        private int predatorEatingCooldown = Config.PREDATOR_EATING_COOLDOWN;
+        private int grassRegrowthTicks = Config.GRASS_REGROWTH_TICKS;
+        private int birthSearchRadius = Config.BIRTH_SEARCH_RADIUS;
+        private double grassInitialCoverage = Config.GRASS_INITIAL_COVERAGE;
+        private double obstacleCoverage = Config.OBSTACLE_COVERAGE;
+        private int tickDurationMs = Config.TICK_DURATION_MS;
+        private int maxTicks = Config.MAX_TICKS;
+        private String csvOutputFile = Config.CSV_OUTPUT_FILE;
+        private boolean consoleTickSummaries = Config.CONSOLE_TICK_SUMMARIES;
+        private long randomSeed = Config.RANDOM_SEED;
+        private ExecutionMode executionMode = Config.EXECUTION_MODE;
+        private int spatialIndexBucketSize = Config.SPATIAL_INDEX_BUCKET_SIZE;
+        private int parallelThreads = Config.PARALLEL_THREADS;
+        private int parallelChunkSize = Config.PARALLEL_CHUNK_SIZE;
+        private int tileSize = Config.TILE_SIZE;
+        private long tickStragglerReportMs = Config.TICK_STRAGGLER_REPORT_MS;
+        private int jadeRegionContainers = Config.JADE_REGION_CONTAINERS;
+        private int agentPoolCapacity = Config.AGENT_POOL_CAPACITY;
+
+        private Builder() {
+        }
+
+        public Builder gridWidth(int gridWidth) {
+            this.gridWidth = gridWidth;
+            return this;
+        }
+
+        public Builder gridHeight(int gridHeight) {
+            this.gridHeight = gridHeight;
+            return this;
+        }
+
+        public Builder placementMode(PlacementMode placementMode) {
+            this.placementMode = placementMode;
+            return this;
+        }
+
+        public Builder initialPreyCount(int initialPreyCount) {
+            this.initialPreyCount = initialPreyCount;
+            return this;
+        }
+
+        public Builder initialPredatorCount(int initialPredatorCount) {
+            this.initialPredatorCount = initialPredatorCount;
+            return this;
+        }
+
+        public Builder preyEnergyStart(int preyEnergyStart) {
+            this.preyEnergyStart = preyEnergyStart;
+            return this;
+        }
+
+        public Builder preyEnergyMax(int preyEnergyMax) {
+            this.preyEnergyMax = preyEnergyMax;
+            return this;
+        }
+
+        public Builder preyEnergyFromGrass(int preyEnergyFromGrass) {
+            this.preyEnergyFromGrass = preyEnergyFromGrass;
+            return this;
+        }
+
+        public Builder preyEnergyMoveCost(double preyEnergyMoveCost) {
+            this.preyEnergyMoveCost = preyEnergyMoveCost;
+            return this;
+        }
+
+        public Builder preyReproductionThreshold(int preyReproductionThreshold) {
+            this.preyReproductionThreshold = preyReproductionThreshold;
+            return this;
+        }
+
+        public Builder preyReproductionCooldown(int preyReproductionCooldown) {
+            this.preyReproductionCooldown = preyReproductionCooldown;
+            return this;
+        }
+
+        public Builder preyReproductionCost(int preyReproductionCost) {
+            this.preyReproductionCost = preyReproductionCost;
+            return this;
+        }
+
+        public Builder preyStarvationThreshold(int preyStarvationThreshold) {
+            this.preyStarvationThreshold = preyStarvationThreshold;
+            return this;
+        }
+
+        public Builder preyVisionRange(int preyVisionRange) {
+            this.preyVisionRange = preyVisionRange;
+            return this;
+        }
+
+        public Builder predatorEnergyStart(int predatorEnergyStart) {
+            this.predatorEnergyStart = predatorEnergyStart;
+            return this;
+        }
+
+        public Builder predatorEnergyMax(int predatorEnergyMax) {
+            this.predatorEnergyMax = predatorEnergyMax;
+            return this;
+        }
+
+        public Builder predatorEnergyFromPrey(int predatorEnergyFromPrey) {
+            this.predatorEnergyFromPrey = predatorEnergyFromPrey;
+            return this;
+        }
+
+        public Builder predatorEnergyMoveCost(double predatorEnergyMoveCost) {
+            this.predatorEnergyMoveCost = predatorEnergyMoveCost;
+            return this;
+        }
+
+        public Builder predatorReproductionThreshold(int predatorReproductionThreshold) {
+            this.predatorReproductionThreshold = predatorReproductionThreshold;
+            return this;
+        }
+
+        public Builder predatorReproductionCooldown(int predatorReproductionCooldown) {
+            this.predatorReproductionCooldown = predatorReproductionCooldown;
+            return this;
+        }
+
+        public Builder predatorReproductionCost(int predatorReproductionCost) {
+            this.predatorReproductionCost = predatorReproductionCost;
+            return this;
+        }
+
+        public Builder predatorStarvationThreshold(int predatorStarvationThreshold) {
+            this.predatorStarvationThreshold = predatorStarvationThreshold;
+            return this;
+        }
+
+        public Builder predatorMaxTicksWithoutFood(int predatorMaxTicksWithoutFood) {
+            this.predatorMaxTicksWithoutFood = predatorMaxTicksWithoutFood;
+            return this;
+        }
+
+        public Builder predatorVisionRange(int predatorVisionRange) {
+            this.predatorVisionRange = predatorVisionRange;
+            return this;
+        }
+
+        public Builder predatorEatingCooldown(int predatorEatingCooldown) {
+            this.predatorEatingCooldown = predatorEatingCooldown;
+            return this;
+        }
+
+        public Builder grassRegrowthTicks(int grassRegrowthTicks) {
+            this.grassRegrowthTicks = grassRegrowthTicks;
+            return this;
+        }
+
+        public Builder birthSearchRadius(int birthSearchRadius) {
+            this.birthSearchRadius = birthSearchRadius;
+            return this;
+        }
+
+        public Builder grassInitialCoverage(double grassInitialCoverage) {
+            this.grassInitialCoverage = grassInitialCoverage;
+            return this;
+        }
+
+        public Builder obstacleCoverage(double obstacleCoverage) {
+            this.obstacleCoverage = obstacleCoverage;
+            return this;
+        }
+
+        public Builder tickDurationMs(int tickDurationMs) {
+            this.tickDurationMs = tickDurationMs;
+            return this;
+        }
+
+        public Builder maxTicks(int maxTicks) {
+            this.maxTicks = maxTicks;
+            return this;
+        }
+
+        public Builder csvOutputFile(String csvOutputFile) {
+            this.csvOutputFile = csvOutputFile;
+            return this;
+        }
+
+        public Builder consoleTickSummaries(boolean consoleTickSummaries) {
+            this.consoleTickSummaries = consoleTickSummaries;
+            return this;
+        }
+
+        public Builder randomSeed(long randomSeed) {
+            this.randomSeed = randomSeed;
+            return this;
+        }
+
+        public Builder executionMode(ExecutionMode executionMode) {
+            this.executionMode = executionMode;
+            return this;
+        }
+
+        public Builder spatialIndexBucketSize(int spatialIndexBucketSize) {
+            this.spatialIndexBucketSize = spatialIndexBucketSize;
+            return this;
+        }
+
+        public Builder parallelThreads(int parallelThreads) {
+            this.parallelThreads = parallelThreads;
+            return this;
+        }
+
+        public Builder parallelChunkSize(int parallelChunkSize) {
+            this.parallelChunkSize = parallelChunkSize;
+            return this;
+        }
+
+        public Builder tileSize(int tileSize) {
+            this.tileSize = tileSize;
+            return this;
+        }
+
+        public Builder tickStragglerReportMs(long tickStragglerReportMs) {
+            this.tickStragglerReportMs = tickStragglerReportMs;
+            return this;
+        }
+
+        public Builder jadeRegionContainers(int jadeRegionContainers) {
+            this.jadeRegionContainers = jadeRegionContainers;
+            return this;
+        }
+
+        public Builder agentPoolCapacity(int agentPoolCapacity) {
+            this.agentPoolCapacity = agentPoolCapacity;
+            return this;
+        }
+
+        /**
+         * Set a field by its Config name from its text form, e.g. set("GRASS_REGROWTH_TICKS", "10")
+         */
+        public Builder set(String name, String value) {
+            Field field;
+            try {
+                field = Builder.class.getDeclaredField(toCamelCase(name));
+            } catch (NoSuchFieldException e) {
+                throw new IllegalArgumentException("Unknown config field: " + name);
+            }
+            try {
+                field.set(this, parse(field.getType(), value.trim()));
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+            return this;
+        }
+
+        public SimulationConfig build() {
+            return new SimulationConfig(this);
+        }
+
+        private static String toCamelCase(String name) {
+            StringBuilder sb = new StringBuilder();
+            boolean upper = false;
+            for (char c : name.toCharArray()) {
+                if (c == '_') {
+                    upper = true;
+                } else {
+                    sb.append(upper ? Character.toUpperCase(c) : Character.toLowerCase(c));
+                    upper = false;
+                }
+            }
+            return sb.toString();
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static Object parse(Class<?> type, String value) {
+            if (type == int.class) return Integer.parseInt(value);
+            if (type == long.class) return Long.parseLong(value);
+            if (type == double.class) return Double.parseDouble(value);
+            if (type == boolean.class) return Boolean.parseBoolean(value);
+            if (type.isEnum()) return Enum.valueOf((Class<Enum>) type, value.toUpperCase());
+            if (type == String.class) return value;
+            throw new IllegalArgumentException("Unsupported config type: " + type.getSimpleName());
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.reactive.preypredator.environment;
+
+import com.reactive.preypredator.model.Grid;
+import com.reactive.preypredator.model.Position;
+
+/**
+ * Nearest-grass field shared by all prey for one tick. Every cell stores the index of
+ * the closest grass cell, found with a two-pass 8-neighbour vector distance transform
+ * seeded from every grass cell, so a prey's lookup is O(1) instead of a vision-window scan.
+ * Distances ignore obstacles, like the scan they replace.
+ */
+public class GrassField {
+    private static final int NONE = -1;
+
+    private final Grid grid;
+    private final int width;
+    private final int height;
+    private final int visionRange;
+    private final int[] nearest;
+
+    public GrassField(Grid grid, int visionRange) {
+        this.grid = grid;
+        this.width = grid.getWidth();
+        this.height = grid.getHeight();
+        this.visionRange = visionRange;
+        this.nearest = new int[width * height];
+    }
+
+    /**
+     * Recompute the field from the grass present at the start of the tick
+     */
+    public void rebuild() {
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                nearest[y * width + x] = grid.hasGrass(x, y) ? y * width + x : NONE;
+            }
+        }
+
+        // Forward pass: neighbours above and to the left, then a right-to-left sweep of the row
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                relax(x, y, x - 1, y);
+                relax(x, y, x - 1, y - 1);
+                relax(x, y, x, y - 1);
+                relax(x, y, x + 1, y - 1);
+            }
+            for (int x = width - 2; x >= 0; x--) {
+                relax(x, y, x + 1, y);
+            }
+        }
+
+        // Backward pass: neighbours below and to the right, then a left-to-right sweep
+        for (int y = height - 1; y >= 0; y--) {
+            for (int x = width - 1; x >= 0; x--) {
+                relax(x, y, x + 1, y);
+                relax(x, y, x + 1, y + 1);
+                relax(x, y, x, y + 1);
+                relax(x, y, x - 1, y + 1);
+            }
+            for (int x = 1; x < width; x++) {
+                relax(x, y, x - 1, y);
+            }
+        }
+    }
+
+    /**
+     * Adopt the neighbour's nearest grass cell if it is closer than our own
+     */
+    private void relax(int x, int y, int nx, int ny) {
+        if (nx < 0 || nx >= width || ny < 0 || ny >= height) return;
+        int candidate = nearest[ny * width + nx];
+        if (candidate == NONE) return;
+
+        int cell = y * width + x;
+        int current = nearest[cell];
+        if (current == NONE || distanceSq(x, y, candidate) < distanceSq(x, y, current)) {
+            nearest[cell] = candidate;
+        }
+    }
+
+    private int distanceSq(int x, int y, int cell) {
+        int dx = cell % width - x;
+        int dy = cell / width - y;
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * Nearest grass cell within the vision window, excluding the cell the prey stands on
+     * @return null if there is none
+     */
+    public Position nearestGrass(Position from) {
+        int target = nearest[from.y * width + from.x];
+        if (target == NONE) return null;
+
+        if (target == from.y * width + from.x) {
+            // Standing on grass (eaten this tick): look around on the live grid instead
+            return nearestGrassAround(from);
+        }
+
+        int tx = target % width;
+        int ty = target / width;
+        if (Math.abs(tx - from.x) > visionRange || Math.abs(ty - from.y) > visionRange) {
+            // Outside the square window, yet a farther window corner may still hold grass
+            if (distanceSq(from.x, from.y, target) > 2 * visionRange * visionRange) return null;
+            return nearestGrassAround(from);
+        }
+        return new Position(tx, ty);
+    }
+
+    /**
+     * Ring-by-ring search of the live grid within the vision window,
+     * stopping once no further ring can hold a closer cell
+     */
+    private Position nearestGrassAround(Position from) {
+        Position best = null;
+        int bestSq = Integer.MAX_VALUE;
+        for (int r = 1; r <= visionRange && r * r <= bestSq; r++) {
+            for (int dy = -r; dy <= r; dy++) {
+                for (int dx = -r; dx <= r; dx++) {
+                    if (Math.max(Math.abs(dx), Math.abs(dy)) != r) continue;
+                    int distSq = dx * dx + dy * dy;
+                    if (distSq < bestSq && grid.hasGrass(from.x + dx, from.y + dy)) {
+                        bestSq = distSq;
+                        best = new Position(from.x + dx, from.y + dy);
+                    }
+                }
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,43 @@
+package com.reactive.preypredator.environment;
+
+import com.reactive.preypredator.agents.ReactiveAgent;
+
+import java.util.List;
+
+/**
+ * Steps plain agents directly on the calling thread: no JADE container, no per-agent threads,
+ * no latch. Agents born during the tick first act on the next one.
+ */
+public class HeadlessTickEngine implements TickEngine {
+    private final ReactiveEnvironment environment;
+
+    public HeadlessTickEngine(ReactiveEnvironment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public boolean start(ReactiveAgent agent) {
+        return true;
+    }
+
+    @Override
+    public void park(ReactiveAgent agent) {
+    }
+
+    @Override
+    public void stop(ReactiveAgent agent) {
+    }
+
+    @Override
+    public void runTick(int tick, List<ReactiveAgent> agents) {
+        for (ReactiveAgent agent : agents) {
+            if (agent.isAlive()) {
+                agent.react(environment);
+            }
+        }
+    }
+
+    @Override
+    public void shutdown() {
+    }
+}
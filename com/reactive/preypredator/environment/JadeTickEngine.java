@@ -0,0 +1,237 @@
+package com.reactive.preypredator.environment;
+
+import com.reactive.preypredator.agents.JadeAgentHost;
+import com.reactive.preypredator.agents.JadeTickBehavior;
+import com.reactive.preypredator.agents.ReactiveAgent;
+
+import jade.core.ContainerID;
+import jade.core.Location;
+import jade.core.Profile;
+import jade.core.ProfileImpl;
+import jade.core.Runtime;
+import jade.wrapper.AgentContainer;
+import jade.wrapper.AgentController;
+import jade.wrapper.StaleProxyException;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Original execution model: every agent is hosted by a JADE agent whose cyclic behaviour
+ * waits for the tick gate to advance, reacts once and arrives on the completion barrier.
+ * Both phasers are reused across ticks; the agents of a tick are bulk-registered when it
+ * opens and deregister as they finish, so births and deaths never disturb a running tick.
+ * A Phaser holds at most 65535 parties, so agents register on child phasers of the
+ * completion barrier, one per block of 65535 places in the tick's agent list.
+ * Hosts of recycled agents are parked rather than killed and rejoin when the agent respawns.
+ * Agents write into a {@link WorldBuffer}, so host threads never queue on the environment lock;
+ * each writes to the segment of its place in the tick's agent list, whichever host runs first.
+ *
+ * With {@code SimulationConfig.jadeRegionContainers} set, N peripheral containers are started next
+ * to the main one, each owning a vertical band of the grid. Hosts are created in the
+ * container of their agent's band and migrate with {@code doMove} when the agent crosses
+ * into another band. The containers share this JVM, so the phasers coordinate every
+ * container's ticks directly.
+ */
+public class JadeTickEngine implements TickEngine {
+    private final ReactiveEnvironment environment;
+    private AgentContainer container;
+    private AgentContainer[] regions = new AgentContainer[0];
+    private final int gridWidth;
+    private final Map<ReactiveAgent, JadeTickBehavior> behaviors = new HashMap<>();  // environment thread only
+    private WorldBuffer buffer;     // of the running tick; published to the hosts by the tick gate
+
+    private final Phaser tickGate = new Phaser(1);      // engine is the only party; each tick advances it once
+    private final Phaser completion = new Phaser(1);    // engine plus one party per busy block
+    private static final int PARTIES_PER_BLOCK = 65535;
+    private Phaser[] blocks = new Phaser[0];            // children of completion, agent i arrives on i / PARTIES_PER_BLOCK
+
+    public JadeTickEngine(ReactiveEnvironment environment, int gridWidth) {
+        this.environment = environment;
+        this.gridWidth = gridWidth;
+        initializeJADE();
+    }
+
+    private void initializeJADE() {
+        Runtime rt = Runtime.instance();
+        Profile profile = new ProfileImpl();
+        profile.setParameter(Profile.MAIN_HOST, "localhost");
+        profile.setParameter(Profile.GUI, "false");
+        container = rt.createMainContainer(profile);
+
+        regions = new AgentContainer[Math.max(0, environment.getConfig().jadeRegionContainers)];
+        for (int i = 0; i < regions.length; i++) {
+            Profile peripheral = new ProfileImpl();
+            peripheral.setParameter(Profile.MAIN_HOST, "localhost");
+            peripheral.setParameter(Profile.CONTAINER_NAME, regionName(i));
+            regions[i] = rt.createAgentContainer(peripheral);
+        }
+    }
+
+    private static String regionName(int region) {
+        return "Region-" + region;
+    }
+
+    /**
+     * Band of the grid the agent stands in, or -1 when everything runs in the main container
+     */
+    public int regionOf(ReactiveAgent agent) {
+        if (regions.length == 0) return -1;
+        return Math.min(regions.length - 1, agent.getX() * regions.length / gridWidth);
+    }
+
+    public Location regionLocation(int region) {
+        return new ContainerID(regionName(region), null);
+    }
+
+    private AgentContainer containerOf(int region) {
+        return region < 0 ? container : regions[region];
+    }
+
+    @Override
+    public boolean start(ReactiveAgent agent) {
+        JadeTickBehavior behavior = behaviors.get(agent);
+        if (behavior != null) {
+            behavior.join(tickGate.getPhase());
+            return true;
+        }
+
+        int region = regionOf(agent);
+        behavior = new JadeTickBehavior(this, environment, agent, tickGate.getPhase(), region);
+        try {
+            Object[] args = {behavior};
+            AgentController ac = containerOf(region).createNewAgent(agent.getId(),
+                    JadeAgentHost.class.getName(), args);
+            ac.start();
+            behaviors.put(agent, behavior);
+            return true;
+        } catch (StaleProxyException e) {
+            System.err.println("Error creating agent " + agent.getId() + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public void park(ReactiveAgent agent) {
+        JadeTickBehavior behavior = behaviors.get(agent);
+        if (behavior != null) {
+            behavior.park();
+        }
+    }
+
+    @Override
+    public void stop(ReactiveAgent agent) {
+        JadeTickBehavior behavior = behaviors.remove(agent);
+        if (behavior != null) {
+            behavior.retire();
+        }
+        try {
+            AgentController ac = containerOf(behavior != null ? behavior.getRegion() : -1).getAgent(agent.getId());
+            if (ac != null) {
+                ac.kill();
+            }
+        } catch (Exception e) {
+            // Already dead
+        }
+    }
+
+    @Override
+    public void runTick(int tick, List<ReactiveAgent> agents) {
+        buffer = new WorldBuffer(agents.size());
+        for (int i = 0; i < agents.size(); i++) {
+            JadeTickBehavior behavior = behaviors.get(agents.get(i));
+            if (behavior != null) {
+                behavior.assignSegment(i);
+            }
+        }
+        environment.beginBufferedTick(buffer);
+        try {
+            awaitAgents(tick, agents);
+        } finally {
+            environment.swapBuffers();
+        }
+    }
+
+    private void awaitAgents(int tick, List<ReactiveAgent> agents) {
+        int blockCount = (agents.size() + PARTIES_PER_BLOCK - 1) / PARTIES_PER_BLOCK;
+        if (blocks.length < blockCount) {
+            Phaser[] grown = Arrays.copyOf(blocks, blockCount);
+            for (int b = blocks.length; b < blockCount; b++) {
+                grown[b] = new Phaser(completion);
+            }
+            blocks = grown;
+        }
+        // A child with parties registers itself once on completion and leaves when its last agent does
+        for (int b = 0; b < blockCount; b++) {
+            blocks[b].bulkRegister(Math.min(PARTIES_PER_BLOCK, agents.size() - b * PARTIES_PER_BLOCK));
+        }
+        int phase = completion.arrive();
+        tickGate.arrive();
+
+        long reportMs = environment.getConfig().tickStragglerReportMs;
+        while (true) {
+            try {
+                if (reportMs > 0) {
+                    completion.awaitAdvanceInterruptibly(phase, reportMs, TimeUnit.MILLISECONDS);
+                } else {
+                    completion.awaitAdvanceInterruptibly(phase);
+                }
+                return;
+            } catch (TimeoutException e) {
+                int waiting = 0;
+                for (int b = 0; b < blockCount; b++) {
+                    waiting += blocks[b].getUnarrivedParties();
+                }
+                System.err.println("[Environment] Warning: Tick " + tick + " still waiting on "
+                        + waiting + " agent(s)");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Bind the calling host thread to its agent's segment of the running tick
+     */
+    public void enterSegment(int segment) {
+        buffer.enter(segment);
+    }
+
+    public void exitSegment() {
+        buffer.exit();
+    }
+
+    /**
+     * @param segment the agent's place in the tick's agent list
+     */
+    public void signalAgentCompletion(int segment) {
+        blocks[segment / PARTIES_PER_BLOCK].arriveAndDeregister();
+    }
+
+    public Phaser getTickGate() {
+        return tickGate;
+    }
+
+    @Override
+    public void shutdown() {
+        tickGate.forceTermination();
+        completion.forceTermination();
+        for (JadeTickBehavior behavior : behaviors.values()) {
+            behavior.retire();
+        }
+        try {
+            for (AgentContainer region : regions) {
+                region.kill();
+            }
+            container.kill();
+        } catch (Exception e) {
+            System.err.println("Error shutting down JADE: " + e.getMessage());
+        }
+    }
+}
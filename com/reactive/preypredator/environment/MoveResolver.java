@@ -0,0 +1,117 @@
+package com.reactive.preypredator.environment;
+
+import com.reactive.preypredator.agents.ReactiveAgent;
+import com.reactive.preypredator.model.Position;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Second phase of a buffered tick: turns every recorded move intent into at most one
+ * mover per cell. Contested cells go to the highest priority, a hash of the agent id
+ * and the tick, so the outcome does not depend on thread timing or chunking and no
+ * agent wins the same duel every tick. A resolver owns a rectangle of target cells;
+ * resolvers over disjoint rectangles can run side by side.
+ */
+public class MoveResolver {
+    private static final int UNCLAIMED = -1;
+
+    private final int originX;
+    private final int originY;
+    private final int width;
+    private final int height;
+    private final int[] claims;    // per target cell in the rectangle: index of the winning intent
+    private final List<ReactiveAgent> movers = new ArrayList<>();
+    private final List<Position> targets = new ArrayList<>();
+    private int[] priorities = new int[256];
+
+    public MoveResolver(int width, int height) {
+        this(0, 0, width, height);
+    }
+
+    public MoveResolver(int originX, int originY, int width, int height) {
+        this.originX = originX;
+        this.originY = originY;
+        this.width = width;
+        this.height = height;
+        this.claims = new int[width * height];
+        Arrays.fill(claims, UNCLAIMED);
+    }
+
+    /**
+     * Pick a winner for every claimed cell and hand the winning moves to {@code apply}
+     * in intent order. Intents aimed outside the rectangle are left to other resolvers;
+     * intents from agents that died during the tick are dropped before claiming, so
+     * they cannot block a live mover.
+     */
+    void resolve(int tick, List<WorldBuffer.Segment> segments, BiConsumer<ReactiveAgent, Position> apply) {
+        for (WorldBuffer.Segment segment : segments) {
+            for (int i = 0; i < segment.movers.size(); i++) {
+                ReactiveAgent agent = segment.movers.get(i);
+                Position target = segment.moveTargets.get(i);
+                if (owns(target) && agent.isAlive()) {
+                    movers.add(agent);
+                    targets.add(target);
+                }
+            }
+        }
+
+        int count = movers.size();
+        if (priorities.length < count) {
+            priorities = new int[Math.max(count, 2 * priorities.length)];
+        }
+
+        for (int i = 0; i < count; i++) {
+            priorities[i] = priority(movers.get(i), tick);
+            int cell = cellOf(targets.get(i));
+            int holder = claims[cell];
+            if (holder == UNCLAIMED || outranks(i, holder)) {
+                claims[cell] = i;
+            }
+        }
+
+        for (int i = 0; i < count; i++) {
+            if (claims[cellOf(targets.get(i))] == i) {
+                apply.accept(movers.get(i), targets.get(i));
+            }
+        }
+
+        for (int i = 0; i < count; i++) {
+            claims[cellOf(targets.get(i))] = UNCLAIMED;
+        }
+        movers.clear();
+        targets.clear();
+    }
+
+    private boolean outranks(int challenger, int holder) {
+        if (priorities[challenger] != priorities[holder]) {
+            return priorities[challenger] > priorities[holder];
+        }
+        return movers.get(challenger).getId().compareTo(movers.get(holder).getId()) < 0;
+    }
+
+    private boolean owns(Position pos) {
+        int dx = pos.x - originX;
+        int dy = pos.y - originY;
+        return dx >= 0 && dx < width && dy >= 0 && dy < height;
+    }
+
+    private int cellOf(Position pos) {
+        return (pos.y - originY) * width + (pos.x - originX);
+    }
+
+    /**
+     * Murmur3 finaliser over the id hash mixed with the tick
+     */
+    static int priority(ReactiveAgent agent, int tick) {
+        int h = agent.getId().hashCode() ^ (tick * 0x9E3779B9);
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
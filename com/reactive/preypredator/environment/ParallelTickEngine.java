@@ -0,0 +1,107 @@
+package com.reactive.preypredator.environment;
+
+import com.reactive.preypredator.agents.ReactiveAgent;
+import com.reactive.preypredator.config.SimulationConfig;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Splits the live agents into fixed-size chunks evaluated on a ForkJoinPool.
+ * Agents perceive the previous tick's world and write into a {@link WorldBuffer};
+ * the environment swaps it in once every chunk has finished, so the hot path
+ * never takes the environment lock.
+ *
+ * A seeded run gives the same output for any worker count and chunk size, and the
+ * same as VIRTUAL and JADE: other agents are only seen through the tick-start
+ * snapshot, and the swap settles kills, matings and moves in a fixed order.
+ * It is not the same as HEADLESS, where each agent sees the moves made before it.
+ * {@code DeterminismCheck} verifies this with several workers.
+ */
+public class ParallelTickEngine implements TickEngine {
+    private final ReactiveEnvironment environment;
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+
+    public ParallelTickEngine(ReactiveEnvironment environment) {
+        this.environment = environment;
+        SimulationConfig config = environment.getConfig();
+        int threads = config.parallelThreads > 0
+                ? config.parallelThreads
+                : java.lang.Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(threads);
+        this.chunkSize = Math.max(1, config.parallelChunkSize);
+    }
+
+    @Override
+    public boolean start(ReactiveAgent agent) {
+        return true;
+    }
+
+    @Override
+    public void park(ReactiveAgent agent) {
+    }
+
+    @Override
+    public void stop(ReactiveAgent agent) {
+    }
+
+    @Override
+    public void runTick(int tick, List<ReactiveAgent> agents) {
+        int chunks = (agents.size() + chunkSize - 1) / chunkSize;
+        WorldBuffer buffer = new WorldBuffer(chunks);
+
+        environment.beginBufferedTick(buffer);
+        try {
+            pool.invoke(new ChunkTask(agents, buffer, 0, chunks));
+        } finally {
+            environment.swapBuffers();
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    private final class ChunkTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<ReactiveAgent> agents;
+        private final WorldBuffer buffer;
+        private final int firstChunk;
+        private final int endChunk;
+
+        ChunkTask(List<ReactiveAgent> agents, WorldBuffer buffer, int firstChunk, int endChunk) {
+            this.agents = agents;
+            this.buffer = buffer;
+            this.firstChunk = firstChunk;
+            this.endChunk = endChunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (endChunk - firstChunk > 1) {
+                int mid = (firstChunk + endChunk) >>> 1;
+                invokeAll(new ChunkTask(agents, buffer, firstChunk, mid),
+                        new ChunkTask(agents, buffer, mid, endChunk));
+                return;
+            }
+
+            int from = firstChunk * chunkSize;
+            int to = Math.min(agents.size(), from + chunkSize);
+            buffer.enter(firstChunk);
+            try {
+                for (int i = from; i < to; i++) {
+                    ReactiveAgent agent = agents.get(i);
+                    if (agent.isAlive()) {
+                        agent.react(environment);
+                    }
+                }
+            } finally {
+                buffer.exit();
+            }
+        }
+    }
+}
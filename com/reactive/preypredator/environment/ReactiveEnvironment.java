@@ -1,84 +1,119 @@
 package com.reactive.preypredator.environment;
 
+import com.reactive.preypredator.agents.AgentStore;
 import com.reactive.preypredator.agents.PreyAgent;
 import com.reactive.preypredator.agents.PredatorAgent;
-import com.reactive.preypredator.config.Config;
+import com.reactive.preypredator.agents.ReactiveAgent;
+import com.reactive.preypredator.config.SimulationConfig;
+import com.reactive.preypredator.model.ExecutionMode;
 import com.reactive.preypredator.model.PlacementMode;
 import com.reactive.preypredator.model.Gender;
 import com.reactive.preypredator.model.Grid;
 import com.reactive.preypredator.model.Position;
+import com.reactive.preypredator.model.RandomStreams;
 import com.reactive.preypredator.statistics.DataLogger;
 import com.reactive.preypredator.statistics.Statistics;
 
-import jade.core.Profile;
-import jade.core.ProfileImpl;
-import jade.core.Runtime;
-import jade.wrapper.AgentContainer;
-import jade.wrapper.AgentController;
-import jade.wrapper.StaleProxyException;
-
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 public class ReactiveEnvironment {
+    private final SimulationConfig config;
+    private RandomStreams randomStreams;
+    private SplittableRandom spawnRandom;
     private Grid grid;
-    private AgentContainer container;
-    private Map<String, PreyAgent> preyAgents;
-    private Map<String, PredatorAgent> predatorAgents;
+    private GrassField grassField;
+    private DangerField dangerField;
+    private MoveResolver moveResolver;
+    private TickEngine engine;
+    private AgentStore<PreyAgent> preyStore;
+    private AgentStore<PredatorAgent> predatorStore;
+    private SpatialIndex<PreyAgent> preyIndex;
+    private SpatialIndex<PredatorAgent> predatorIndex;
     private DataLogger dataLogger;
-    private int currentTick;
-    private Random random;
+    private volatile int currentTick;   // written by the tick thread only, read by monitors
+    private Thread tickThread;      // the one running tick(), and so the only one that may applyMove
+    private final AtomicLong offspringSequence = new AtomicLong();
+    private final LongAdder contestedKills = new LongAdder();
     private volatile boolean running = true;
+    private Set<ReactiveAgent> deadAgents;
+    private final Queue<Position> pendingPreyBirths = new ConcurrentLinkedQueue<>();       // parent positions
+    private final Queue<Position> pendingPredatorBirths = new ConcurrentLinkedQueue<>();
+    private volatile WorldBuffer backBuffer;
 
-    private final Object tickLock = new Object();
-    private boolean tickActive = false;
-    private CountDownLatch agentLatch;
-    private Set<String> deadAgents;
 
+    public SimulationConfig getConfig() {
+        return config;
+    }
 
     public boolean isRunning() {
         return running;
     }
     public ReactiveEnvironment() {
-        this.grid = new Grid(Config.GRID_WIDTH, Config.GRID_HEIGHT);
-        this.preyAgents = new ConcurrentHashMap<>();
-        this.predatorAgents = new ConcurrentHashMap<>();
+        this(SimulationConfig.defaults());
+    }
+
+    public ReactiveEnvironment(SimulationConfig config) {
+        this.config = config;
+        long seed = config.randomSeed != 0 ? config.randomSeed : System.nanoTime();
+        this.randomStreams = new RandomStreams(seed);
+        this.spawnRandom = randomStreams.forSubsystem("spawning");
+        this.grid = new Grid(config, randomStreams.forSubsystem("grid"));
+        this.grassField = new GrassField(grid, config.preyVisionRange);
+        this.dangerField = new DangerField(config.gridWidth, config.gridHeight, config.preyVisionRange);
+        this.moveResolver = new MoveResolver(config.gridWidth, config.gridHeight);
+        this.preyStore = new AgentStore<>(2 * config.initialPreyCount, config.agentPoolCapacity);
+        this.predatorStore = new AgentStore<>(2 * config.initialPredatorCount, config.agentPoolCapacity);
+        this.preyIndex = new SpatialIndex<>(config.gridWidth, config.gridHeight,
+                config.spatialIndexBucketSize);
+        this.predatorIndex = new SpatialIndex<>(config.gridWidth, config.gridHeight,
+                config.spatialIndexBucketSize);
         this.deadAgents = ConcurrentHashMap.newKeySet();
-        this.dataLogger = new DataLogger(Config.CSV_OUTPUT_FILE);
+        this.dataLogger = new DataLogger(config.csvOutputFile, config.consoleTickSummaries);
         this.currentTick = 0;
-        this.random = new Random();
 
-        initializeJADE();
+        this.engine = createEngine(config.executionMode);
         spawnInitialAgents();
     }
 
-    private void initializeJADE() {
-        Runtime rt = Runtime.instance();
-        Profile profile = new ProfileImpl();
-        profile.setParameter(Profile.MAIN_HOST, "localhost");
-        profile.setParameter(Profile.GUI, "false");
-        container = rt.createMainContainer(profile);
+    private TickEngine createEngine(ExecutionMode mode) {
+        switch (mode) {
+            case HEADLESS:
+                return new HeadlessTickEngine(this);
+            case PARALLEL:
+                return new ParallelTickEngine(this);
+            case VIRTUAL:
+                return new VirtualThreadTickEngine(this);
+            case TILED:
+                return new TiledTickEngine(this, config.gridWidth, config.gridHeight);
+            default:
+                return new JadeTickEngine(this, config.gridWidth);
+        }
     }
 
     private void spawnInitialAgents() {
-        if (Config.PLACEMENT_MODE == PlacementMode.FIXED_PATTERN) {
+        if (config.placementMode == PlacementMode.FIXED_PATTERN) {
             spawnAgentsFixedPattern();
         } else {
             spawnAgentsRandom();
         }
 
-        System.out.println("[Environment] Spawned " + Config.INITIAL_PREY_COUNT + " prey and "
-                + Config.INITIAL_PREDATOR_COUNT + " predators (Mode: " + Config.PLACEMENT_MODE + ")");
+        System.out.println("[Environment] Spawned " + config.initialPreyCount + " prey and "
+                + config.initialPredatorCount + " predators (Mode: " + config.placementMode
+                + ", Seed: " + randomStreams.getMasterSeed() + ")");
     }
 
     private void spawnAgentsRandom() {
-        for (int i = 0; i < Config.INITIAL_PREY_COUNT; i++) {
+        for (int i = 0; i < config.initialPreyCount; i++) {
             createPreyAgent("Prey_" + i);
         }
 
-        for (int i = 0; i < Config.INITIAL_PREDATOR_COUNT; i++) {
+        for (int i = 0; i < config.initialPredatorCount; i++) {
             createPredatorAgent("Predator_" + i);
         }
     }
@@ -87,20 +122,20 @@ public class ReactiveEnvironment {
      * FIXED: Alternating genders for reproduction
      */
     private void spawnAgentsFixedPattern() {
-        int centerX = Config.GRID_WIDTH / 2;
-        int centerY = Config.GRID_HEIGHT / 2;
+        int centerX = config.gridWidth / 2;
+        int centerY = config.gridHeight / 2;
 
         int preyPlaced = 0;
         int predatorPlaced = 0;
 
         // Place prey in compact center cluster with ALTERNATING genders
-        int preyRadiusX = Config.GRID_WIDTH / 6;
-        int preyRadiusY = Config.GRID_HEIGHT / 6;
+        int preyRadiusX = config.gridWidth / 6;
+        int preyRadiusY = config.gridHeight / 6;
 
-        for (int x = centerX - preyRadiusX; x <= centerX + preyRadiusX && preyPlaced < Config.INITIAL_PREY_COUNT; x++) {
-            for (int y = centerY - preyRadiusY; y <= centerY + preyRadiusY && preyPlaced < Config.INITIAL_PREY_COUNT; y++) {
+        for (int x = centerX - preyRadiusX; x <= centerX + preyRadiusX && preyPlaced < config.initialPreyCount; x++) {
+            for (int y = centerY - preyRadiusY; y <= centerY + preyRadiusY && preyPlaced < config.initialPreyCount; y++) {
                 if (!grid.isWithinBounds(x, y)) continue;
-                if (!grid.getCell(x, y).isWalkable()) continue;
+                if (!grid.isWalkable(x, y)) continue;
 
                 Position pos = new Position(x, y);
                 String name = "Prey_" + preyPlaced;
@@ -108,23 +143,17 @@ public class ReactiveEnvironment {
                 // CRITICAL FIX: Alternate male/female for reproduction
                 Gender gender = (preyPlaced % 2 == 0) ? Gender.MALE : Gender.FEMALE;
 
-                try {
-                    Object[] args = {this, pos, gender, name};
-                    AgentController ac = container.createNewAgent(name,
-                            "com.reactive.preypredator.agents.PreyAgent", args);
-                    ac.start();
+                if (grid.claimCell(name, x, y) && spawnPrey(name, pos, gender)) {
                     preyPlaced++;
-                } catch (StaleProxyException e) {
-                    System.err.println("Error creating fixed-position prey: " + e.getMessage());
                 }
             }
         }
 
         // Place predators in ring with ALTERNATING genders
         int predatorRadius = preyRadiusX + 5;
-        int angleStep = 360 / Config.INITIAL_PREDATOR_COUNT;
+        int angleStep = 360 / config.initialPredatorCount;
 
-        for (int i = 0; i < Config.INITIAL_PREDATOR_COUNT; i++) {
+        for (int i = 0; i < config.initialPredatorCount; i++) {
             int angleDeg = i * angleStep;
             double angle = Math.toRadians(angleDeg);
             int x = centerX + (int) Math.round(predatorRadius * Math.cos(angle));
@@ -138,14 +167,8 @@ public class ReactiveEnvironment {
             // CRITICAL FIX: Alternate male/female for reproduction
             Gender gender = (predatorPlaced % 2 == 0) ? Gender.MALE : Gender.FEMALE;
 
-            try {
-                Object[] args = {this, pos, gender, name};
-                AgentController ac = container.createNewAgent(name,
-                        "com.reactive.preypredator.agents.PredatorAgent", args);
-                ac.start();
+            if (grid.claimCell(name, pos.x, pos.y) && spawnPredator(name, pos, gender)) {
                 predatorPlaced++;
-            } catch (StaleProxyException e) {
-                System.err.println("Error creating fixed-position predator: " + e.getMessage());
             }
         }
 
@@ -153,8 +176,11 @@ public class ReactiveEnvironment {
                 + predatorPlaced + " predators (50% M/F)");
     }
 
+    /**
+     * Nearest free walkable cell; a prey already standing there used to be overwritten
+     */
     private Position findNearestWalkable(int x, int y) {
-        if (grid.isWithinBounds(x, y) && grid.getCell(x, y).isWalkable()) {
+        if (isPositionAvailable(x, y)) {
             return new Position(x, y);
         }
 
@@ -163,7 +189,7 @@ public class ReactiveEnvironment {
                 for (int dy = -radius; dy <= radius; dy++) {
                     int newX = x + dx;
                     int newY = y + dy;
-                    if (grid.isWithinBounds(newX, newY) && grid.getCell(newX, newY).isWalkable()) {
+                    if (isPositionAvailable(newX, newY)) {
                         return new Position(newX, newY);
                     }
                 }
@@ -173,220 +199,439 @@ public class ReactiveEnvironment {
     }
 
     private void createPreyAgent(String name) {
-        Position pos = grid.getRandomEmptyPosition();
+        Position pos = claimRandomCell(name);
         if (pos == null) return;
-
-        try {
-            Object[] args = {this, pos, Gender.random(), name};
-            AgentController ac = container.createNewAgent(name,
-                    "com.reactive.preypredator.agents.PreyAgent", args);
-            ac.start();
-        } catch (StaleProxyException e) {
-            System.err.println("Error creating prey agent: " + e.getMessage());
-        }
+        spawnPrey(name, pos, Gender.random(spawnRandom));
     }
 
     private void createPredatorAgent(String name) {
-        Position pos = grid.getRandomEmptyPosition();
+        Position pos = claimRandomCell(name);
         if (pos == null) return;
+        spawnPredator(name, pos, Gender.random(spawnRandom));
+    }
 
-        try {
-            Object[] args = {this, pos, Gender.random(), name};
-            AgentController ac = container.createNewAgent(name,
-                    "com.reactive.preypredator.agents.PredatorAgent", args);
-            ac.start();
-        } catch (StaleProxyException e) {
-            System.err.println("Error creating predator agent: " + e.getMessage());
+    /**
+     * Draw free cells until one is claimed; a draw only fails if another agent took it meanwhile
+     */
+    private Position claimRandomCell(String agentId) {
+        Position pos;
+        while ((pos = grid.getRandomEmptyPosition()) != null) {
+            if (grid.claimCell(agentId, pos.x, pos.y)) return pos;
         }
+        return null;
+    }
+
+    /**
+     * {@code pos} must already be claimed for {@code name}
+     */
+    private boolean spawnPrey(String name, Position pos, Gender gender) {
+        PreyAgent prey = new PreyAgent(name, pos, gender, this);
+        registerPreyAgent(prey);
+        return startOrDiscard(prey);
+    }
+
+    private boolean spawnPredator(String name, Position pos, Gender gender) {
+        PredatorAgent predator = new PredatorAgent(name, pos, gender, this);
+        registerPredatorAgent(predator);
+        return startOrDiscard(predator);
     }
 
+    private boolean startOrDiscard(ReactiveAgent agent) {
+        if (engine.start(agent)) return true;
+        agent.setAlive(false);
+        removeDeadAgent(agent);
+        return false;
+    }
+
+    /**
+     * Births are only queued here; {@link #materializeBirths()} creates the agents
+     * once every agent has finished the tick
+     */
     public void createPreyOffspring(Position parentPos) {
-        String name = "Prey_" + System.currentTimeMillis() + "_" + random.nextInt(1000);
-        createPreyAgent(name);
+        pendingPreyBirths.add(parentPos);
     }
 
     public void createPredatorOffspring(Position parentPos) {
-        String name = "Predator_" + System.currentTimeMillis() + "_" + random.nextInt(1000);
-        createPredatorAgent(name);
+        pendingPredatorBirths.add(parentPos);
     }
 
-    public synchronized void registerPreyAgent(PreyAgent agent) {
-        preyAgents.put(agent.getLocalName(), agent);
-        grid.setAgentPosition(agent.getLocalName(), agent.getPosition());
+    /**
+     * Turn the tick's queued births into agents in one batch: store room is reserved once,
+     * each newborn is placed next to its parent (anywhere free if the parent is boxed in)
+     * and is in the grid and spatial index before the next tick perceives the world.
+     * A pooled dead agent is respawned when one is available, keeping its id and behaviour;
+     * otherwise a new agent is named after the birth tick plus a sequence number (the old
+     * millisecond-plus-random suffix collided when many agents were born at once).
+     */
+    private synchronized void materializeBirths() {
+        preyStore.ensureCapacity(preyStore.size() + pendingPreyBirths.size());
+        predatorStore.ensureCapacity(predatorStore.size() + pendingPredatorBirths.size());
+
+        Position parentPos;
+        while ((parentPos = pendingPreyBirths.poll()) != null) {
+            Position pos = placeOffspring(parentPos);
+            if (pos == null) continue;
+            Gender gender = Gender.random(spawnRandom);
+            PreyAgent prey = preyStore.reuse();
+            String id = prey != null ? prey.getId() : "Prey_" + currentTick + "_" + offspringSequence.incrementAndGet();
+            if (!grid.claimCell(id, pos.x, pos.y)) {
+                if (prey != null) preyStore.recycle(prey);
+                continue;
+            }
+            if (prey != null) {
+                prey.respawn(pos, gender);
+                registerPreyAgent(prey);
+                startOrDiscard(prey);
+            } else {
+                spawnPrey(id, pos, gender);
+            }
+        }
+        while ((parentPos = pendingPredatorBirths.poll()) != null) {
+            Position pos = placeOffspring(parentPos);
+            if (pos == null) continue;
+            Gender gender = Gender.random(spawnRandom);
+            PredatorAgent predator = predatorStore.reuse();
+            String id = predator != null ? predator.getId() : "Predator_" + currentTick + "_" + offspringSequence.incrementAndGet();
+            if (!grid.claimCell(id, pos.x, pos.y)) {
+                if (predator != null) predatorStore.recycle(predator);
+                continue;
+            }
+            if (predator != null) {
+                predator.respawn(pos, gender);
+                registerPredatorAgent(predator);
+                startOrDiscard(predator);
+            } else {
+                spawnPredator(id, pos, gender);
+            }
+        }
     }
 
-    public synchronized void registerPredatorAgent(PredatorAgent agent) {
-        predatorAgents.put(agent.getLocalName(), agent);
-        grid.setAgentPosition(agent.getLocalName(), agent.getPosition());
+    private Position placeOffspring(Position parentPos) {
+        Position pos = grid.getEmptyPositionNear(parentPos, config.birthSearchRadius);
+        return pos != null ? pos : grid.getRandomEmptyPosition();
     }
 
-    public synchronized void moveAgent(String agentId, Position newPos) {
-        if (isPositionAvailable(newPos.x, newPos.y)) {
-            grid.setAgentPosition(agentId, newPos);
-        }
+    /**
+     * Index an agent whose cell has already been claimed in the grid
+     */
+    public void registerPreyAgent(PreyAgent agent) {
+        preyIndex.insert(agent, agent.getPosition());
     }
 
-    public boolean isPositionAvailable(int x, int y) {
-        if (!grid.isWithinBounds(x, y)) return false;
-        if (!grid.getCell(x, y).isWalkable()) return false;
+    public void registerPredatorAgent(PredatorAgent agent) {
+        predatorIndex.insert(agent, agent.getPosition());
+    }
 
-        Position pos = new Position(x, y);
-        for (PreyAgent prey : preyAgents.values()) {
-            if (prey.isAlive() && prey.getPosition().equals(pos)) return false;
+    /**
+     * Move an agent if it wins the target cell's CAS; the agent's own position is only
+     * updated on success so it never drifts away from the grid and the spatial index.
+     * Never takes the environment lock.
+     * During a buffered tick the move is only recorded as an intent, without taking
+     * the environment lock, and is settled by the {@link MoveResolver} at the swap.
+     */
+    public boolean moveAgent(ReactiveAgent agent, Position newPos) {
+        WorldBuffer buffer = backBuffer;
+        if (buffer != null) {
+            if (!isPositionAvailable(newPos.x, newPos.y)) return false;
+            buffer.recordMove(agent, newPos);
+            return true;
         }
-        for (PredatorAgent predator : predatorAgents.values()) {
-            if (predator.isAlive() && predator.getPosition().equals(pos)) return false;
+        return applyMove(agent, newPos);
+    }
+
+    /**
+     * Not safe from several threads at once: the grid move, the spatial index and the
+     * agent's position are updated as separate steps. Runs only on the tick thread, either
+     * directly from HEADLESS agents or while the swap applies a tick's resolved moves.
+     */
+    boolean applyMove(ReactiveAgent agent, Position newPos) {
+        assert Thread.currentThread() == tickThread : "applyMove off the tick thread";
+        if (!agent.isAlive() || !grid.isWithinBounds(newPos.x, newPos.y) || !grid.isWalkable(newPos.x, newPos.y)) {
+            return false;
         }
 
+        Position from = agent.getPosition();
+        if (!grid.moveAgent(agent.getId(), from, newPos)) return false;
+
+        if (agent instanceof PreyAgent) {
+            preyIndex.move((PreyAgent) agent, from, newPos);
+        } else {
+            predatorIndex.move((PredatorAgent) agent, from, newPos);
+        }
+        agent.setPosition(newPos);
         return true;
     }
 
+    public void eatGrass(Position pos) {
+        WorldBuffer buffer = backBuffer;
+        if (buffer != null) {
+            buffer.recordGrazing(pos);
+        } else {
+            grid.eatGrass(pos.x, pos.y);
+        }
+    }
+
+    public boolean isPositionAvailable(int x, int y) {
+        if (!grid.isWithinBounds(x, y)) return false;
+        if (!grid.isWalkable(x, y)) return false;
+        return !grid.isOccupied(x, y);
+    }
+
     public List<Position> getNearbyPreyPositions(Position center, int range) {
         List<Position> positions = new ArrayList<>();
-        for (PreyAgent prey : preyAgents.values()) {
-            if (prey.isAlive() && center.distanceTo(prey.getPosition()) <= range) {
-                positions.add(prey.getPosition());
-            }
+        for (PreyAgent prey : getNearbyPreyAgents(center, range)) {
+            positions.add(prey.getPosition());
         }
         return positions;
     }
 
     public List<Position> getNearbyPredatorPositions(Position center, int range) {
         List<Position> positions = new ArrayList<>();
-        for (PredatorAgent predator : predatorAgents.values()) {
-            if (predator.isAlive() && center.distanceTo(predator.getPosition()) <= range) {
-                positions.add(predator.getPosition());
-            }
+        for (PredatorAgent predator : getNearbyPredatorAgents(center, range)) {
+            positions.add(predator.getPosition());
         }
         return positions;
     }
 
+    /**
+     * @return the closest live prey within {@code range}, or null
+     */
+    public PreyAgent findNearestPrey(Position center, int range) {
+        return preyIndex.nearest(center, range);
+    }
+
     public List<PreyAgent> getNearbyPreyAgents(Position center, int range) {
         List<PreyAgent> nearby = new ArrayList<>();
-        for (PreyAgent prey : preyAgents.values()) {
-            if (prey.isAlive() && center.distanceTo(prey.getPosition()) <= range) {
-                nearby.add(prey);
-            }
-        }
+        preyIndex.query(center, range, nearby);
+        nearby.removeIf(prey -> !prey.isPerceivedAlive());
         return nearby;
     }
 
     public List<PredatorAgent> getNearbyPredatorAgents(Position center, int range) {
         List<PredatorAgent> nearby = new ArrayList<>();
-        for (PredatorAgent predator : predatorAgents.values()) {
-            if (predator.isAlive() && center.distanceTo(predator.getPosition()) <= range) {
-                nearby.add(predator);
-            }
-        }
+        predatorIndex.query(center, range, nearby);
+        nearby.removeIf(predator -> !predator.isPerceivedAlive());
         return nearby;
     }
 
-    public synchronized void removeDeadAgent(String agentId) {
-        deadAgents.add(agentId);
+    /**
+     * Act on the first candidate for which {@code settle} succeeds. Kills and matings change
+     * other agents, which may be reacting on other threads, so during a buffered tick they
+     * are only recorded; {@link #swapBuffers} settles them one at a time before the moves,
+     * highest move priority first, and each settle re-checks the live state.
+     * @return whether it succeeded, always false while buffered
+     */
+    public <T extends ReactiveAgent> boolean interact(ReactiveAgent actor, List<T> candidates, Predicate<T> settle) {
+        if (candidates.isEmpty()) return false;
+        WorldBuffer buffer = backBuffer;
+        if (buffer != null) {
+            buffer.recordInteraction(actor, candidates, settle);
+            return false;
+        }
+        for (T candidate : candidates) {
+            if (settle.test(candidate)) return true;
+        }
+        return false;
     }
 
-    private void cleanupDeadAgents() {
-        for (String agentId : deadAgents) {
-            preyAgents.remove(agentId);
-            predatorAgents.remove(agentId);
-            grid.removeAgent(agentId);
-
-            try {
-                AgentController ac = container.getAgent(agentId);
-                if (ac != null) {
-                    ac.kill();
-                }
-            } catch (Exception e) {
-                // Already dead
-            }
+    /**
+     * Lock-free kill: exactly one predator wins a prey however many reach it at once.
+     * Losers, including predators reaching a prey that just starved, are counted.
+     */
+    public boolean claimPrey(PreyAgent prey) {
+        if (!prey.kill()) {
+            contestedKills.increment();
+            return false;
         }
-        deadAgents.clear();
+        removeDeadAgent(prey);
+        return true;
     }
 
-    public void tick() {
-        if (!running) return;
-
-        currentTick++;
+    public long getContestedKills() {
+        return contestedKills.sum();
+    }
 
-        int activeAgents = 0;
-        for (PreyAgent prey : preyAgents.values()) {
-            if (prey.isAlive()) activeAgents++;
+    public void removeDeadAgent(ReactiveAgent agent) {
+        WorldBuffer buffer = backBuffer;
+        if (buffer != null) {
+            buffer.recordDeath(agent);
+            return;
         }
-        for (PredatorAgent predator : predatorAgents.values()) {
-            if (predator.isAlive()) activeAgents++;
+        deadAgents.add(agent);
+        // Free the cell right away, as the old alive-filtered scan did
+        releaseCell(agent);
+    }
+
+    private void releaseCell(ReactiveAgent agent) {
+        Position pos = agent.getPosition();
+        if (pos != null) {
+            grid.releaseCell(agent.getId(), pos.x, pos.y);
         }
+    }
 
-        if (activeAgents == 0) return;
+    /**
+     * Freeze the world for a double-buffered tick: until {@link #swapBuffers()}
+     * moves, grazing, deaths, kills and matings go to {@code buffer}, and agents
+     * perceive each other through the stores' tick-start snapshots
+     */
+    void beginBufferedTick(WorldBuffer buffer) {
+        preyStore.freeze();
+        predatorStore.freeze();
+        backBuffer = buffer;
+    }
+
+    void swapBuffers() {
+        swapBuffers(segments -> moveResolver.resolve(currentTick, segments, this::applyMove));
+    }
 
-        agentLatch = new CountDownLatch(activeAgents);
+    /**
+     * Apply the back buffer under one lock, every step in a fixed order: free the cells of
+     * agents that died, settle kills and matings, let {@code resolveMoves} settle every move
+     * intent at once (through {@link #applyMove}), then grazing in segment order.
+     * A predator's meal therefore lands at the end of the tick, and is lost if it starved.
+     */
+    void swapBuffers(Consumer<List<WorldBuffer.Segment>> resolveMoves) {
+        WorldBuffer buffer = backBuffer;
+        backBuffer = null;
+        if (buffer == null) return;
+
+        synchronized (this) {
+            preyStore.thaw();
+            predatorStore.thaw();
+
+            List<WorldBuffer.Segment> segments = buffer.getSegments();
+            for (WorldBuffer.Segment segment : segments) {
+                for (ReactiveAgent agent : segment.deaths) {
+                    removeDeadAgent(agent);
+                }
+            }
+            settleInteractions(segments);
+            resolveMoves.accept(segments);
+            for (WorldBuffer.Segment segment : segments) {
+                for (Position cell : segment.grazedCells) {
+                    grid.eatGrass(cell.x, cell.y);
+                }
+            }
+        }
+    }
 
-        synchronized (tickLock) {
-            tickActive = true;
-            tickLock.notifyAll();
+    /**
+     * One at a time, highest move priority first and the smaller id on ties, so who gets
+     * a prey or a mate does not depend on which thread recorded first
+     */
+    private void settleInteractions(List<WorldBuffer.Segment> segments) {
+        List<WorldBuffer.Interaction<?>> interactions = new ArrayList<>();
+        for (WorldBuffer.Segment segment : segments) {
+            for (WorldBuffer.Interaction<?> interaction : segment.interactions) {
+                interaction.priority = MoveResolver.priority(interaction.actor, currentTick);
+                interactions.add(interaction);
+            }
         }
+        interactions.sort((a, b) -> a.priority != b.priority
+                ? Integer.compare(b.priority, a.priority)
+                : a.actor.getId().compareTo(b.actor.getId()));
+        for (WorldBuffer.Interaction<?> interaction : interactions) {
+            interaction.settle();
+        }
+    }
 
-        try {
-            boolean completed = agentLatch.await(5, TimeUnit.SECONDS);
-            if (!completed) {
-                System.err.println("[Environment] Warning: Tick " + currentTick + " timed out");
+    private synchronized void cleanupDeadAgents() {
+        for (ReactiveAgent agent : deadAgents) {
+            Position pos = agent.getPosition();
+            if (pos == null) continue;  // already removed
+
+            boolean pooled;
+            if (agent instanceof PreyAgent) {
+                preyIndex.remove((PreyAgent) agent, pos);
+                preyStore.remove(agent);
+                pooled = preyStore.recycle((PreyAgent) agent);
+            } else {
+                predatorIndex.remove((PredatorAgent) agent, pos);
+                predatorStore.remove(agent);
+                pooled = predatorStore.recycle((PredatorAgent) agent);
+            }
+            grid.releaseCell(agent.getId(), pos.x, pos.y);
+            if (pooled) {
+                engine.park(agent);
+            } else {
+                engine.stop(agent);
             }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
         }
+        deadAgents.clear();
+    }
 
-        synchronized (tickLock) {
-            tickActive = false;
+    public void tick() {
+        if (!running) return;
+
+        currentTick++;
+        tickThread = Thread.currentThread();
+
+        if (preyStore.getLiveCount() + predatorStore.getLiveCount() == 0) return;
+        List<ReactiveAgent> activeAgents = engine.usesAgentList() ? collectActiveAgents() : List.of();
+
+        if (preyStore.size() > 0) {
+            grassField.rebuild();
+            dangerField.rebuild(predatorStore);
         }
+        engine.runTick(currentTick, activeAgents);
 
         cleanupDeadAgents();
+        materializeBirths();
         grid.updateGrassRegrowth();
         collectStatistics();
     }
 
-    public void signalAgentCompletion() {
-        if (agentLatch != null) {
-            agentLatch.countDown();
+    private synchronized List<ReactiveAgent> collectActiveAgents() {
+        List<ReactiveAgent> activeAgents = new ArrayList<>(preyStore.size() + predatorStore.size());
+        for (AgentStore<PreyAgent>.Cursor c = preyStore.cursor(); c.next(); ) {
+            if (c.alive()) activeAgents.add(c.agent());
         }
+        for (AgentStore<PredatorAgent>.Cursor c = predatorStore.cursor(); c.next(); ) {
+            if (c.alive()) activeAgents.add(c.agent());
+        }
+        return activeAgents;
     }
 
     private void collectStatistics() {
-        int preyCount = 0;
-        int predatorCount = 0;
-        double totalPreyEnergy = 0;
-        double totalPredatorEnergy = 0;
-
-        for (PreyAgent prey : preyAgents.values()) {
-            if (prey.isAlive()) {
-                preyCount++;
-                totalPreyEnergy += prey.getEnergy();
-            }
-        }
+        dataLogger.log(snapshotStatistics());
+    }
 
-        for (PredatorAgent predator : predatorAgents.values()) {
-            if (predator.isAlive()) {
-                predatorCount++;
-                totalPredatorEnergy += predator.getEnergy();
-            }
-        }
+    /**
+     * O(1) from the stores' running sums and the grid's grass counter; safe to call
+     * from any thread, mid-tick included, for live monitoring. Mid-tick the counts are
+     * a live reading taken during the tick reported, not its end-of-tick values.
+     */
+    public Statistics snapshotStatistics() {
+        long preyCount = preyStore.getLiveCount();
+        long predatorCount = predatorStore.getLiveCount();
+        double avgPreyEnergy = preyCount > 0 ? (double) preyStore.getLiveEnergy() / preyCount : 0.0;
+        double avgPredatorEnergy = predatorCount > 0 ? (double) predatorStore.getLiveEnergy() / predatorCount : 0.0;
 
-        double avgPreyEnergy = preyCount > 0 ? totalPreyEnergy / preyCount : 0.0;
-        double avgPredatorEnergy = predatorCount > 0 ? totalPredatorEnergy / predatorCount : 0.0;
-        double grassCoverage = grid.getGrassCoverage();
+        return new Statistics(currentTick, (int) preyCount, (int) predatorCount,
+                avgPreyEnergy, avgPredatorEnergy, grid.getGrassCoverage());
+    }
 
-        Statistics stats = new Statistics(currentTick, preyCount, predatorCount,
-                avgPreyEnergy, avgPredatorEnergy, grassCoverage);
-        dataLogger.log(stats);
+    public RandomStreams getRandomStreams() {
+        return randomStreams;
     }
 
     public Grid getGrid() {
         return grid;
     }
 
+    public GrassField getGrassField() {
+        return grassField;
+    }
+
+    public DangerField getDangerField() {
+        return dangerField;
+    }
+
     public synchronized Collection<PreyAgent> getPreyAgents() {
         List<PreyAgent> alive = new ArrayList<>();
-        for (PreyAgent prey : preyAgents.values()) {
-            if (prey.isAlive()) {
-                alive.add(prey);
+        for (AgentStore<PreyAgent>.Cursor c = preyStore.cursor(); c.next(); ) {
+            if (c.alive()) {
+                alive.add(c.agent());
             }
         }
         return alive;
@@ -394,35 +639,31 @@ public class ReactiveEnvironment {
 
     public synchronized Collection<PredatorAgent> getPredatorAgents() {
         List<PredatorAgent> alive = new ArrayList<>();
-        for (PredatorAgent predator : predatorAgents.values()) {
-            if (predator.isAlive()) {
-                alive.add(predator);
+        for (AgentStore<PredatorAgent>.Cursor c = predatorStore.cursor(); c.next(); ) {
+            if (c.alive()) {
+                alive.add(c.agent());
             }
         }
         return alive;
     }
 
-    public DataLogger getDataLogger() {
-        return dataLogger;
+    public AgentStore<PreyAgent> getPreyStore() {
+        return preyStore;
     }
 
-    public int getCurrentTick() {
-        return currentTick;
+    public AgentStore<PredatorAgent> getPredatorStore() {
+        return predatorStore;
     }
 
-    public Object getTickLock() {
-        return tickLock;
+    public DataLogger getDataLogger() {
+        return dataLogger;
     }
 
-    public boolean isTickActive() {
-        return tickActive;
+    public int getCurrentTick() {
+        return currentTick;
     }
 
     public void shutdown() {
-        try {
-            container.kill();
-        } catch (Exception e) {
-            System.err.println("Error shutting down JADE: " + e.getMessage());
-        }
+        engine.shutdown();
     }
 }
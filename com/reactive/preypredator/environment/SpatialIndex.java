@@ -0,0 +1,127 @@
+package com.reactive.preypredator.environment;
+
+import com.reactive.preypredator.agents.ReactiveAgent;
+import com.reactive.preypredator.model.Position;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Uniform-grid spatial index: agents are bucketed by the square block of cells they stand on,
+ * so a range query only visits the buckets overlapping its bounding box.
+ * Buckets are concurrent sets because agent threads query while others move.
+ */
+public class SpatialIndex<A extends ReactiveAgent> {
+    private final int bucketSize;
+    private final int bucketsX;
+    private final int bucketsY;
+    private final List<Set<A>> buckets;
+
+    public SpatialIndex(int width, int height, int bucketSize) {
+        this.bucketSize = Math.max(1, bucketSize);
+        this.bucketsX = (width + this.bucketSize - 1) / this.bucketSize;
+        this.bucketsY = (height + this.bucketSize - 1) / this.bucketSize;
+        this.buckets = new ArrayList<>(bucketsX * bucketsY);
+        for (int i = 0; i < bucketsX * bucketsY; i++) {
+            buckets.add(ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    public void insert(A agent, Position pos) {
+        buckets.get(bucketOf(pos.x, pos.y)).add(agent);
+    }
+
+    public void remove(A agent, Position pos) {
+        buckets.get(bucketOf(pos.x, pos.y)).remove(agent);
+    }
+
+    /**
+     * Re-bucket an agent; a no-op when it stays inside the same block
+     */
+    public void move(A agent, Position from, Position to) {
+        int oldBucket = bucketOf(from.x, from.y);
+        int newBucket = bucketOf(to.x, to.y);
+        if (oldBucket != newBucket) {
+            buckets.get(oldBucket).remove(agent);
+            buckets.get(newBucket).add(agent);
+        }
+    }
+
+    /**
+     * Collect agents within Euclidean distance {@code range} of {@code center}
+     */
+    public void query(Position center, int range, List<A> out) {
+        int minBx = clamp((center.x - range) / bucketSize, bucketsX);
+        int maxBx = clamp((center.x + range) / bucketSize, bucketsX);
+        int minBy = clamp((center.y - range) / bucketSize, bucketsY);
+        int maxBy = clamp((center.y + range) / bucketSize, bucketsY);
+        int rangeSq = range * range;
+
+        for (int bx = minBx; bx <= maxBx; bx++) {
+            for (int by = minBy; by <= maxBy; by++) {
+                for (A agent : buckets.get(bx * bucketsY + by)) {
+                    int dx = agent.getX() - center.x;
+                    int dy = agent.getY() - center.y;
+                    if (dx * dx + dy * dy <= rangeSq) {
+                        out.add(agent);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Closest live agent within Euclidean distance {@code range} of {@code center}.
+     * Walks rings of buckets outward from the centre's bucket and stops as soon as no
+     * unvisited bucket can hold anything closer, so the cost follows local density
+     * and no candidate list is built.
+     * @return null if there is none
+     */
+    public A nearest(Position center, int range) {
+        int cbx = center.x / bucketSize;
+        int cby = center.y / bucketSize;
+        A best = null;
+        int bestSq = range * range + 1;
+        int maxRing = Math.max(bucketsX, bucketsY);
+
+        for (int ring = 0; ring < maxRing; ring++) {
+            if (ring > 0) {
+                // Closest any cell outside the rings already visited can be
+                int reach = Math.min(
+                        Math.min(center.x - (cbx - ring + 1) * bucketSize + 1, (cbx + ring) * bucketSize - center.x),
+                        Math.min(center.y - (cby - ring + 1) * bucketSize + 1, (cby + ring) * bucketSize - center.y));
+                if (reach * reach >= bestSq) break;
+            }
+
+            for (int bx = cbx - ring; bx <= cbx + ring; bx++) {
+                if (bx < 0 || bx >= bucketsX) continue;
+                boolean edgeColumn = bx == cbx - ring || bx == cbx + ring;
+                int step = edgeColumn ? 1 : 2 * ring;
+                for (int by = cby - ring; by <= cby + ring; by += step) {
+                    if (by < 0 || by >= bucketsY) continue;
+                    for (A agent : buckets.get(bx * bucketsY + by)) {
+                        if (!agent.isPerceivedAlive()) continue;
+                        int dx = agent.getX() - center.x;
+                        int dy = agent.getY() - center.y;
+                        int distSq = dx * dx + dy * dy;
+                        if (distSq < bestSq) {
+                            bestSq = distSq;
+                            best = agent;
+                        }
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    private int bucketOf(int x, int y) {
+        return (x / bucketSize) * bucketsY + (y / bucketSize);
+    }
+
+    private static int clamp(int bucket, int count) {
+        return Math.max(0, Math.min(count - 1, bucket));
+    }
+}
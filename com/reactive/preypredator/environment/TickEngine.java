@@ -0,0 +1,43 @@
+package com.reactive.preypredator.environment;
+
+import com.reactive.preypredator.agents.ReactiveAgent;
+
+import java.util.List;
+
+/**
+ * Strategy for executing agents: the environment owns the world state,
+ * the engine only decides how each live agent gets to react once per tick
+ */
+public interface TickEngine {
+
+    /**
+     * Attach execution to a newly registered agent, or resume a respawned one
+     * @return false if the agent could not be started and should be dropped
+     */
+    boolean start(ReactiveAgent agent);
+
+    /**
+     * Suspend a dead agent that goes to the recycling pool, keeping its execution resources
+     */
+    void park(ReactiveAgent agent);
+
+    /**
+     * Release whatever execution resources a dead agent holds
+     */
+    void stop(ReactiveAgent agent);
+
+    /**
+     * Let every agent in {@code agents} react once; returns when the tick's agent phase is over
+     */
+    void runTick(int tick, List<ReactiveAgent> agents);
+
+    /**
+     * Whether {@link #runTick} reads its agent list; engines that track their own agents
+     * are handed an empty one, so the environment skips the per-tick scan
+     */
+    default boolean usesAgentList() {
+        return true;
+    }
+
+    void shutdown();
+}
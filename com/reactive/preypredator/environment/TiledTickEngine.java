@@ -0,0 +1,377 @@
+package com.reactive.preypredator.environment;
+
+import com.reactive.preypredator.agents.ReactiveAgent;
+import com.reactive.preypredator.config.SimulationConfig;
+import com.reactive.preypredator.model.Position;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Partitions the grid into square tiles that each own the agents standing in them.
+ * A tick runs every tile as its own fork/join task over a double-buffered world. The halo
+ * is read-only: the grid, occupancy and spatial index stay frozen and other agents are
+ * seen through the stores' tick-start snapshot, so a tile reads its neighbours' border
+ * cells and agents without copying them and without locks. Effects that reach across a
+ * border (kills, matings) are handed to the swap as intents and settled there in priority
+ * order. Move intents are then resolved tile by tile in parallel, each tile settling the
+ * targets it owns from its own and its eight neighbours' intents; the winners are applied
+ * in tile order, and agents that crossed a border are handed off to their new tile.
+ *
+ * Tiles are whole spatial-index buckets wide, so agents only ever enter a bucket
+ * through the tile that owns it.
+ *
+ * The react phase is load balanced: every tick each tile's cost is estimated from its
+ * resident count times its measured nanoseconds per agent, hot tiles are split into
+ * slices of their resident list, and the slices are dealt to the workers heaviest first
+ * (each to the least loaded worker). Slices record into their own segments in tile and
+ * slice order, so the buffered writes replay in the same order however tiles are cut.
+ */
+public class TiledTickEngine implements TickEngine {
+    private final ReactiveEnvironment environment;
+    private final ForkJoinPool pool;
+    private final int tileSize;
+    private final int tilesX;
+    private final int tilesY;
+    private final List<List<ReactiveAgent>> residents;   // per tile, in the order its agents act
+    private final List<List<ReactiveAgent>> incoming;    // handoff staging, empty between ticks
+    private final MoveResolver[] resolvers;
+    private final List<List<ReactiveAgent>> winners;     // per tile: moves won at the swap, applied in tile order
+    private final List<List<Position>> winningTargets;
+
+    // Load balancing: slices per worker to aim for, and how fast the per-agent cost adapts
+    private static final int SLICES_PER_WORKER = 4;
+    private static final double COST_SMOOTHING = 0.5;
+
+    private final double[] nanosPerAgent;     // per tile, smoothed over ticks, 0 until measured
+    private final int[] tileFirstSlice;       // per tile: its first slice, which is also its first segment
+    private final int[] tileSlices;
+    private int[] sliceTile;
+    private int[] sliceFrom;
+    private int[] sliceTo;
+    private double[] sliceCost;
+    private long[] sliceNanos;
+    private int sliceCount;
+
+    public TiledTickEngine(ReactiveEnvironment environment, int width, int height) {
+        this.environment = environment;
+        SimulationConfig config = environment.getConfig();
+        int threads = config.parallelThreads > 0
+                ? config.parallelThreads
+                : java.lang.Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(threads);
+
+        int bucket = Math.max(1, config.spatialIndexBucketSize);
+        this.tileSize = Math.max(1, config.tileSize / bucket) * bucket;
+        this.tilesX = (width + tileSize - 1) / tileSize;
+        this.tilesY = (height + tileSize - 1) / tileSize;
+
+        int tiles = tilesX * tilesY;
+        this.residents = new ArrayList<>(tiles);
+        this.incoming = new ArrayList<>(tiles);
+        this.winners = new ArrayList<>(tiles);
+        this.winningTargets = new ArrayList<>(tiles);
+        this.resolvers = new MoveResolver[tiles];
+        this.nanosPerAgent = new double[tiles];
+        this.tileFirstSlice = new int[tiles];
+        this.tileSlices = new int[tiles];
+        int maxSlices = tiles + threads * SLICES_PER_WORKER;
+        this.sliceTile = new int[maxSlices];
+        this.sliceFrom = new int[maxSlices];
+        this.sliceTo = new int[maxSlices];
+        this.sliceCost = new double[maxSlices];
+        this.sliceNanos = new long[maxSlices];
+        for (int t = 0; t < tiles; t++) {
+            int x0 = (t % tilesX) * tileSize;
+            int y0 = (t / tilesX) * tileSize;
+            residents.add(new ArrayList<>());
+            incoming.add(new ArrayList<>());
+            winners.add(new ArrayList<>());
+            winningTargets.add(new ArrayList<>());
+            resolvers[t] = new MoveResolver(x0, y0, Math.min(tileSize, width - x0), Math.min(tileSize, height - y0));
+        }
+    }
+
+    private int tileOf(int x, int y) {
+        return (y / tileSize) * tilesX + (x / tileSize);
+    }
+
+    @Override
+    public boolean start(ReactiveAgent agent) {
+        residents.get(tileOf(agent.getX(), agent.getY())).add(agent);
+        return true;
+    }
+
+    /**
+     * Dead agents are dropped from their tile during the handoff of the tick they died in
+     */
+    @Override
+    public void park(ReactiveAgent agent) {
+    }
+
+    @Override
+    public void stop(ReactiveAgent agent) {
+    }
+
+    /**
+     * The tiles already hold every live agent
+     */
+    @Override
+    public boolean usesAgentList() {
+        return false;
+    }
+
+    @Override
+    public void runTick(int tick, List<ReactiveAgent> agents) {
+        planSlices();
+        WorldBuffer buffer = new WorldBuffer(sliceCount);
+
+        environment.beginBufferedTick(buffer);
+        try {
+            List<SliceBatch> batches = assignSlices(buffer);
+            pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(batches)));
+        } finally {
+            environment.swapBuffers(segments -> resolveMoves(tick, segments));
+        }
+        measureCosts();
+        handOff();
+    }
+
+    /**
+     * Cut each tile into slices of about equal estimated cost, aiming for
+     * SLICES_PER_WORKER slices per worker across the whole world
+     */
+    private void planSlices() {
+        double fallback = averageNanosPerAgent();
+        double total = 0;
+        for (int t = 0; t < residents.size(); t++) {
+            total += residents.get(t).size() * (nanosPerAgent[t] > 0 ? nanosPerAgent[t] : fallback);
+        }
+        double target = total / (pool.getParallelism() * SLICES_PER_WORKER);
+
+        sliceCount = 0;
+        for (int t = 0; t < residents.size(); t++) {
+            int n = residents.get(t).size();
+            double cost = n * (nanosPerAgent[t] > 0 ? nanosPerAgent[t] : fallback);
+            int slices = n == 0 ? 0 : cost > target ? (int) Math.min(n, Math.ceil(cost / target)) : 1;
+
+            tileFirstSlice[t] = sliceCount;
+            tileSlices[t] = slices;
+            ensureSliceCapacity(sliceCount + slices);
+            for (int s = 0; s < slices; s++) {
+                int i = sliceCount++;
+                sliceTile[i] = t;
+                sliceFrom[i] = (int) ((long) n * s / slices);
+                sliceTo[i] = (int) ((long) n * (s + 1) / slices);
+                sliceCost[i] = cost / slices;
+            }
+        }
+    }
+
+    private double averageNanosPerAgent() {
+        double sum = 0;
+        int measured = 0;
+        for (double nanos : nanosPerAgent) {
+            if (nanos > 0) {
+                sum += nanos;
+                measured++;
+            }
+        }
+        return measured > 0 ? sum / measured : 1.0;
+    }
+
+    private void ensureSliceCapacity(int capacity) {
+        if (capacity <= sliceTile.length) return;
+        int newCapacity = Math.max(capacity, 2 * sliceTile.length);
+        sliceTile = Arrays.copyOf(sliceTile, newCapacity);
+        sliceFrom = Arrays.copyOf(sliceFrom, newCapacity);
+        sliceTo = Arrays.copyOf(sliceTo, newCapacity);
+        sliceCost = Arrays.copyOf(sliceCost, newCapacity);
+        sliceNanos = Arrays.copyOf(sliceNanos, newCapacity);
+    }
+
+    /**
+     * Longest-processing-time-first: deal the slices, heaviest first, to the least loaded worker
+     */
+    private List<SliceBatch> assignSlices(WorldBuffer buffer) {
+        int workers = pool.getParallelism();
+        List<SliceBatch> batches = new ArrayList<>(workers);
+        double[] load = new double[workers];
+        for (int w = 0; w < workers; w++) {
+            batches.add(new SliceBatch(buffer));
+        }
+
+        Integer[] order = new Integer[sliceCount];
+        for (int i = 0; i < sliceCount; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(sliceCost[b], sliceCost[a]));
+
+        for (int slice : order) {
+            int lightest = 0;
+            for (int w = 1; w < workers; w++) {
+                if (load[w] < load[lightest]) lightest = w;
+            }
+            load[lightest] += sliceCost[slice];
+            batches.get(lightest).slices.add(slice);
+        }
+        return batches;
+    }
+
+    private void runSlice(int slice, WorldBuffer buffer) {
+        long start = System.nanoTime();
+        List<ReactiveAgent> tile = residents.get(sliceTile[slice]);
+        buffer.enter(slice);
+        try {
+            for (int i = sliceFrom[slice]; i < sliceTo[slice]; i++) {
+                ReactiveAgent agent = tile.get(i);
+                if (agent.isAlive()) {
+                    agent.react(environment);
+                }
+            }
+        } finally {
+            buffer.exit();
+        }
+        sliceNanos[slice] = System.nanoTime() - start;
+    }
+
+    /**
+     * Fold this tick's measured time per agent into each tile's smoothed cost
+     */
+    private void measureCosts() {
+        for (int t = 0; t < residents.size(); t++) {
+            int n = residents.get(t).size();
+            if (n == 0) continue;
+            long nanos = 0;
+            for (int s = tileFirstSlice[t]; s < tileFirstSlice[t] + tileSlices[t]; s++) {
+                nanos += sliceNanos[s];
+            }
+            double perAgent = (double) nanos / n;
+            nanosPerAgent[t] = nanosPerAgent[t] > 0
+                    ? COST_SMOOTHING * perAgent + (1 - COST_SMOOTHING) * nanosPerAgent[t]
+                    : perAgent;
+        }
+    }
+
+    /**
+     * Tiles pick their winners in parallel; applying them touches the shared free-cell
+     * index, so that happens on this thread in tile order
+     */
+    private void resolveMoves(int tick, List<WorldBuffer.Segment> segments) {
+        forEachTile(t -> resolvers[t].resolve(tick, neighbourhood(t, segments), (agent, target) -> {
+            winners.get(t).add(agent);
+            winningTargets.get(t).add(target);
+        }));
+        for (int t = 0; t < winners.size(); t++) {
+            List<ReactiveAgent> movers = winners.get(t);
+            List<Position> targets = winningTargets.get(t);
+            for (int i = 0; i < movers.size(); i++) {
+                environment.applyMove(movers.get(i), targets.get(i));
+            }
+            movers.clear();
+            targets.clear();
+        }
+    }
+
+    /**
+     * A one-cell step never leaves the 3x3 block of tiles around the mover's own
+     */
+    private List<WorldBuffer.Segment> neighbourhood(int tile, List<WorldBuffer.Segment> segments) {
+        int tx = tile % tilesX;
+        int ty = tile / tilesX;
+        List<WorldBuffer.Segment> near = new ArrayList<>();
+        for (int ny = Math.max(0, ty - 1); ny <= Math.min(tilesY - 1, ty + 1); ny++) {
+            for (int nx = Math.max(0, tx - 1); nx <= Math.min(tilesX - 1, tx + 1); nx++) {
+                int neighbour = ny * tilesX + nx;
+                for (int s = tileFirstSlice[neighbour]; s < tileFirstSlice[neighbour] + tileSlices[neighbour]; s++) {
+                    near.add(segments.get(s));
+                }
+            }
+        }
+        return near;
+    }
+
+    /**
+     * Border handoff: agents that left their tile join the new one after its stayers,
+     * in tile order, and agents that died this tick are dropped
+     */
+    private void handOff() {
+        for (int t = 0; t < residents.size(); t++) {
+            List<ReactiveAgent> tile = residents.get(t);
+            int kept = 0;
+            for (ReactiveAgent agent : tile) {
+                if (!agent.isAlive()) continue;
+                int home = tileOf(agent.getX(), agent.getY());
+                if (home == t) {
+                    tile.set(kept++, agent);
+                } else {
+                    incoming.get(home).add(agent);
+                }
+            }
+            tile.subList(kept, tile.size()).clear();
+        }
+        for (int t = 0; t < residents.size(); t++) {
+            residents.get(t).addAll(incoming.get(t));
+            incoming.get(t).clear();
+        }
+    }
+
+    private void forEachTile(IntConsumer body) {
+        pool.invoke(new TileTask(0, residents.size(), body));
+    }
+
+    @Override
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * One worker's share of the react phase, run in the order dealt
+     */
+    private final class SliceBatch extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final WorldBuffer buffer;
+        private final List<Integer> slices = new ArrayList<>();
+
+        SliceBatch(WorldBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        protected void compute() {
+            for (int slice : slices) {
+                runSlice(slice, buffer);
+            }
+        }
+    }
+
+    private static final class TileTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int firstTile;
+        private final int endTile;
+        private final IntConsumer body;
+
+        TileTask(int firstTile, int endTile, IntConsumer body) {
+            this.firstTile = firstTile;
+            this.endTile = endTile;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (endTile - firstTile > 1) {
+                int mid = (firstTile + endTile) >>> 1;
+                invokeAll(new TileTask(firstTile, mid, body), new TileTask(mid, endTile, body));
+                return;
+            }
+            body.accept(firstTile);
+        }
+    }
+}
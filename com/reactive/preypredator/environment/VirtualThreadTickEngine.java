@@ -0,0 +1,100 @@
+package com.reactive.preypredator.environment;
+
+import com.reactive.preypredator.agents.ReactiveAgent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Keeps the JADE model of one concurrent task per agent per tick, but runs each
+ * {@code react()} as a virtual-thread task instead of parking a platform thread per agent.
+ * Like JADE agents, they perceive the previous tick's world and record their writes
+ * into a {@link WorldBuffer} that is swapped in once every task has finished.
+ */
+public class VirtualThreadTickEngine implements TickEngine {
+    private final ReactiveEnvironment environment;
+    private final ExecutorService executor;
+
+    public VirtualThreadTickEngine(ReactiveEnvironment environment) {
+        this.environment = environment;
+        this.executor = newVirtualThreadExecutor();
+    }
+
+    /**
+     * Looked up reflectively so the sources still build for Java 17;
+     * older runtimes fall back to a platform pool sized to the cores
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+        } catch (ReflectiveOperationException e) {
+            System.err.println("[Environment] Warning: virtual threads need Java 21+, using a platform pool");
+            return Executors.newFixedThreadPool(java.lang.Runtime.getRuntime().availableProcessors());
+        }
+    }
+
+    @Override
+    public boolean start(ReactiveAgent agent) {
+        return true;
+    }
+
+    @Override
+    public void park(ReactiveAgent agent) {
+    }
+
+    @Override
+    public void stop(ReactiveAgent agent) {
+    }
+
+    @Override
+    public void runTick(int tick, List<ReactiveAgent> agents) {
+        WorldBuffer buffer = new WorldBuffer(agents.size());
+        environment.beginBufferedTick(buffer);
+        try {
+            runAgents(tick, agents, buffer);
+        } finally {
+            environment.swapBuffers();
+        }
+    }
+
+    private void runAgents(int tick, List<ReactiveAgent> agents, WorldBuffer buffer) {
+        List<Future<?>> pending = new ArrayList<>(agents.size());
+        for (int i = 0; i < agents.size(); i++) {
+            ReactiveAgent agent = agents.get(i);
+            int segment = i;
+            pending.add(executor.submit(() -> {
+                buffer.enter(segment);
+                try {
+                    if (agent.isAlive()) {
+                        agent.react(environment);
+                    }
+                } finally {
+                    buffer.exit();
+                }
+            }));
+        }
+
+        try {
+            for (Future<?> future : pending) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    System.err.println("[Environment] Agent failed in tick " + tick + ": " + e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
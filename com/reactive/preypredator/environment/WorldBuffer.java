@@ -0,0 +1,121 @@
+package com.reactive.preypredator.environment;
+
+import com.reactive.preypredator.agents.ReactiveAgent;
+import com.reactive.preypredator.model.Position;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Back buffer for a double-buffered tick. While a tick is in flight the grid,
+ * occupancy and spatial index act as the read-only front buffer; agents write
+ * their moves, grazing, deaths, kills and matings here instead. Each parallel chunk owns one
+ * segment, so recording needs no locking, and segments are replayed in index
+ * order when the buffers are swapped. Engines that run one task per agent (JADE
+ * hosts, virtual threads) give every agent the segment of its place in the tick's
+ * agent list, so the replay order never depends on thread scheduling.
+ * Segments are created on first {@link #enter}.
+ */
+public class WorldBuffer {
+
+    public static final class Segment {
+        final List<ReactiveAgent> movers = new ArrayList<>();
+        final List<Position> moveTargets = new ArrayList<>();
+        final List<Position> grazedCells = new ArrayList<>();
+        final List<ReactiveAgent> deaths = new ArrayList<>();
+        final List<Interaction<?>> interactions = new ArrayList<>();
+    }
+
+    /**
+     * A kill or mating: at the swap {@code settle} is tried on each candidate in turn
+     * until one succeeds
+     */
+    static final class Interaction<T extends ReactiveAgent> {
+        final ReactiveAgent actor;
+        final List<T> candidates;
+        final Predicate<T> settle;
+        int priority;   // of the actor, filled in at the swap
+
+        Interaction(ReactiveAgent actor, List<T> candidates, Predicate<T> settle) {
+            this.actor = actor;
+            this.candidates = candidates;
+            this.settle = settle;
+        }
+
+        boolean settle() {
+            for (T candidate : candidates) {
+                if (settle.test(candidate)) return true;
+            }
+            return false;
+        }
+    }
+
+    private final Segment[] segments;
+    private final ThreadLocal<Segment> current = new ThreadLocal<>();
+
+    public WorldBuffer(int segmentCount) {
+        this.segments = new Segment[segmentCount];
+    }
+
+    /**
+     * Bind the calling thread to a segment for the duration of one chunk or agent.
+     * Each segment is entered by one thread at a time.
+     */
+    public void enter(int segment) {
+        Segment s = segments[segment];
+        if (s == null) {
+            s = new Segment();
+            segments[segment] = s;
+        }
+        current.set(s);
+    }
+
+    public void exit() {
+        current.remove();
+    }
+
+    private Segment segment() {
+        Segment segment = current.get();
+        if (segment == null) {
+            throw new IllegalStateException("World write during a buffered tick from a thread outside any segment");
+        }
+        return segment;
+    }
+
+    /**
+     * Only an intent: the {@link MoveResolver} decides who gets contested cells
+     */
+    public void recordMove(ReactiveAgent agent, Position target) {
+        Segment segment = segment();
+        segment.movers.add(agent);
+        segment.moveTargets.add(target);
+    }
+
+    public void recordGrazing(Position cell) {
+        segment().grazedCells.add(cell);
+    }
+
+    /**
+     * An agent that died of its own accord; its cell is freed at the swap
+     */
+    public void recordDeath(ReactiveAgent agent) {
+        segment().deaths.add(agent);
+    }
+
+    public <T extends ReactiveAgent> void recordInteraction(ReactiveAgent actor, List<T> candidates, Predicate<T> settle) {
+        segment().interactions.add(new Interaction<>(actor, candidates, settle));
+    }
+
+    /**
+     * Every segment, in index order; a segment never entered is empty
+     */
+    List<Segment> getSegments() {
+        List<Segment> all = new ArrayList<>(segments.length);
+        for (int i = 0; i < segments.length; i++) {
+            if (segments[i] == null) segments[i] = new Segment();
+            all.add(segments[i]);
+        }
+        return all;
+    }
+}
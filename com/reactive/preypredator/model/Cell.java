@@ -1,42 +1,28 @@
 package com.reactive.preypredator.model;
 
+/**
+ * View of one grid square; the state itself lives in {@link Grid}'s packed bitsets.
+ * Non-obstacle cells report GRASS or EMPTY from their current grass state.
+ */
 public class Cell {
-    private CellType type;
-    private boolean hasGrass;
-    private int grassRegrowthTimer;
+    private final Grid grid;
+    private final int index;
 
-    public Cell(CellType type) {
-        this.type = type;
-        this.hasGrass = (type == CellType.GRASS || type == CellType.EMPTY);
-        this.grassRegrowthTimer = 0;
+    Cell(Grid grid, int index) {
+        this.grid = grid;
+        this.index = index;
     }
 
     public CellType getType() {
-        return type;
+        if (grid.isObstacle(index)) return CellType.OBSTACLE;
+        return grid.hasGrass(index) ? CellType.GRASS : CellType.EMPTY;
     }
 
     public boolean hasGrass() {
-        return hasGrass && type != CellType.OBSTACLE;
-    }
-
-    public void eatGrass() {
-        if (hasGrass) {
-            hasGrass = false;
-            grassRegrowthTimer = 0;
-        }
-    }
-
-    public void updateGrassRegrowth(int regrowthTime) {
-        if (!hasGrass && type != CellType.OBSTACLE) {
-            grassRegrowthTimer++;
-            if (grassRegrowthTimer >= regrowthTime) {
-                hasGrass = true;
-                grassRegrowthTimer = 0;
-            }
-        }
+        return grid.hasGrass(index);
     }
 
     public boolean isWalkable() {
-        return type != CellType.OBSTACLE;
+        return !grid.isObstacle(index);
     }
 }
@@ -0,0 +1,12 @@
+package com.reactive.preypredator.model;
+
+/**
+ * Enum for choosing how agents are executed each tick
+ */
+public enum ExecutionMode {
+    JADE,       // One JADE agent (and thread) per creature, synchronised per tick
+    HEADLESS,   // Single-threaded direct stepping of plain agents, no JADE
+    PARALLEL,   // Fork/join chunks over a double-buffered world, no JADE
+    VIRTUAL,    // One virtual-thread task per creature per tick, no JADE
+    TILED       // Grid split into tiles that own their agents, run in parallel, no JADE
+}
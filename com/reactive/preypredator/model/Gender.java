@@ -1,6 +1,6 @@
 package com.reactive.preypredator.model;
 
-import java.util.Random;
+import java.util.SplittableRandom;
 
 /**
  * Gender enum for reproduction mechanics
@@ -8,9 +8,7 @@ import java.util.Random;
 public enum Gender {
     MALE, FEMALE;
 
-    private static final Random random = new Random();
-
-    public static Gender random() {
+    public static Gender random(SplittableRandom random) {
         return random.nextBoolean() ? MALE : FEMALE;
     }
 }
@@ -1,78 +1,196 @@
 package com.reactive.preypredator.model;
 
-import com.reactive.preypredator.config.Config;
+import com.reactive.preypredator.config.SimulationConfig;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Grid environment for the simulation
+ * Grid environment for the simulation.
+ * Cell state is packed into flat row-major arrays indexed by {@code y * width + x}:
+ * one bitset for obstacles (fixed after creation) and one for grass. {@link Cell}
+ * objects are only lightweight views handed out by {@link #getCell(int, int)}.
  */
 public class Grid {
+    // Grass bits are flipped from several agent threads, so words are updated atomically
+    private static final VarHandle GRASS_WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+    // Occupancy is claimed and released with CAS, so movers never need a shared lock
+    private static final VarHandle OCCUPANTS = MethodHandles.arrayElementVarHandle(String[].class);
+
     private final int width;
     private final int height;
-    private final Cell[][] cells;
-    private final Map<String, Position> agentPositions;
-    private final Random random;
+    private final long[] obstacles;
+    private final long[] grass;
+    private final String[] occupants;    // holder's id per cell, compared by reference
+    private final SplittableRandom random;
 
-    public Grid(int width, int height) {
-        this.width = width;
-        this.height = height;
-        this.cells = new Cell[width][height];
-        this.agentPositions = new HashMap<>();
-        this.random = new Random();
-        initializeGrid();
-    }
+    // Regrowth timer wheel: slot (update % length) holds the cells that regrow on that update
+    private final int regrowthTicks;
+    private final CellQueue[] regrowthWheel;
+    private long regrowthUpdates;
 
-    private void initializeGrid() {
-        // Initialize all cells as empty
-        for (int x = 0; x < width; x++) {
-            for (int y = 0; y < height; y++) {
-                cells[x][y] = new Cell(CellType.EMPTY);
-            }
+    // Live counters: obstacles never change, grass only through eatGrass and regrowth
+    private int walkableCells;
+    private final AtomicInteger grassCells = new AtomicInteger();
+
+    // Free-cell index: ids of unoccupied walkable cells packed densely,
+    // plus each cell's slot in that array (-1 when occupied or an obstacle).
+    // Guarded by its own monitor, held only for the O(1) swap. The occupant CAS happens
+    // outside it, so both updates re-read the occupant under the monitor: whichever runs
+    // last sees the final occupant, and the index cannot keep a stale entry.
+    private final int[] freeCells;
+    private final int[] freeSlot;
+    private int freeCount;
+
+    public Grid(SimulationConfig config, SplittableRandom random) {
+        this.width = config.gridWidth;
+        this.height = config.gridHeight;
+        int words = (width * height + 63) >>> 6;
+        this.obstacles = new long[words];
+        this.grass = new long[words];
+        this.occupants = new String[width * height];
+        this.random = random;
+        this.freeCells = new int[width * height];
+        this.freeSlot = new int[width * height];
+        this.regrowthTicks = Math.max(1, config.grassRegrowthTicks);
+        this.regrowthWheel = new CellQueue[regrowthTicks];
+        for (int i = 0; i < regrowthWheel.length; i++) {
+            regrowthWheel[i] = new CellQueue();
         }
+        initializeGrid(config.obstacleCoverage, config.grassInitialCoverage);
+    }
 
+    private void initializeGrid(double obstacleCoverage, double grassCoverage) {
         // Add obstacles (5% of grid)
         int totalCells = width * height;
-        int obstacleCells = (int) (totalCells * Config.OBSTACLE_COVERAGE);
+        int obstacleCells = (int) (totalCells * obstacleCoverage);
         for (int i = 0; i < obstacleCells; i++) {
             int x = random.nextInt(width);
             int y = random.nextInt(height);
-            cells[x][y] = new Cell(CellType.OBSTACLE);
+            int cell = indexOf(x, y);
+            obstacles[cell >>> 6] |= 1L << cell;
         }
 
-        // Add initial grass coverage (75% of non-obstacle cells)
+        // Each walkable cell begins with grass with probability grassCoverage; bare cells
+        // regrow on schedule as if eaten just before the first update.
+        // Walked column by column, the order the free-cell index has always been filled in.
+        Arrays.fill(freeSlot, -1);
         for (int x = 0; x < width; x++) {
             for (int y = 0; y < height; y++) {
-                if (cells[x][y].getType() != CellType.OBSTACLE) {
-                    // FIXED: Grass should be present when random < coverage
-                    if (random.nextDouble() < Config.GRASS_INITIAL_COVERAGE) {
-                        cells[x][y] = new Cell(CellType.GRASS);
-                    }
+                int cell = indexOf(x, y);
+                if (isObstacle(cell)) continue;
+
+                if (grassCoverage >= 1.0 || random.nextDouble() < grassCoverage) {
+                    grass[cell >>> 6] |= 1L << cell;
+                    grassCells.incrementAndGet();
+                } else {
+                    scheduleRegrowth(cell);
                 }
+                walkableCells++;
+                markFree(cell);
             }
         }
     }
 
+    private int indexOf(int x, int y) {
+        return y * width + x;
+    }
+
+    /**
+     * @return a view of the cell, or null outside the grid
+     */
     public Cell getCell(int x, int y) {
         if (isWithinBounds(x, y)) {
-            return cells[x][y];
+            return new Cell(this, indexOf(x, y));
         }
         return null;
     }
 
+    /**
+     * Branch-free bitset lookup; the caller must have checked the bounds
+     */
+    public boolean isWalkable(int x, int y) {
+        return !isObstacle(indexOf(x, y));
+    }
+
+    /**
+     * @return false outside the grid
+     */
+    public boolean hasGrass(int x, int y) {
+        return isWithinBounds(x, y) && hasGrass(indexOf(x, y));
+    }
+
+    boolean isObstacle(int cell) {
+        return ((obstacles[cell >>> 6] >>> cell) & 1L) != 0;
+    }
+
+    boolean hasGrass(int cell) {
+        return ((grass[cell >>> 6] >>> cell) & 1L) != 0;
+    }
+
     public boolean isWithinBounds(int x, int y) {
         return x >= 0 && x < width && y >= 0 && y < height;
     }
 
-    public Position getAgentPosition(String agentId) {
-        return agentPositions.get(agentId);
+    /**
+     * Claim a free cell for an agent with a single CAS
+     * @return false if another agent holds it
+     */
+    public boolean claimCell(String agentId, int x, int y) {
+        int cell = indexOf(x, y);
+        if (!OCCUPANTS.compareAndSet(occupants, cell, null, agentId)) return false;
+        markOccupied(cell);
+        return true;
+    }
+
+    /**
+     * Free a cell, but only while {@code agentId} still holds it
+     */
+    public void releaseCell(String agentId, int x, int y) {
+        int cell = indexOf(x, y);
+        if (OCCUPANTS.compareAndSet(occupants, cell, agentId, null)) {
+            markFree(cell);
+        }
+    }
+
+    /**
+     * Claim the target before releasing the old cell: a lost race leaves the
+     * agent where it was, and no two agents can ever share a cell
+     */
+    public boolean moveAgent(String agentId, Position from, Position to) {
+        if (!claimCell(agentId, to.x, to.y)) return false;
+        releaseCell(agentId, from.x, from.y);
+        return true;
+    }
+
+    /**
+     * O(1) occupancy lookup kept in step with claimCell/releaseCell
+     */
+    public boolean isOccupied(int x, int y) {
+        return OCCUPANTS.getAcquire(occupants, indexOf(x, y)) != null;
     }
 
-    public void setAgentPosition(String agentId, Position position) {
-        agentPositions.put(agentId, position);
+    private void markFree(int cell) {
+        synchronized (freeCells) {
+            if (freeSlot[cell] >= 0 || OCCUPANTS.getAcquire(occupants, cell) != null) return;
+            freeSlot[cell] = freeCount;
+            freeCells[freeCount++] = cell;
+        }
     }
 
-    public void removeAgent(String agentId) {
-        agentPositions.remove(agentId);
+    /**
+     * Swap-remove: the last free cell takes over the vacated slot
+     */
+    private void markOccupied(int cell) {
+        synchronized (freeCells) {
+            int slot = freeSlot[cell];
+            if (slot < 0 || OCCUPANTS.getAcquire(occupants, cell) == null) return;
+            int last = freeCells[--freeCount];
+            freeCells[slot] = last;
+            freeSlot[last] = slot;
+            freeSlot[cell] = -1;
+        }
     }
 
     public int getWidth() {
@@ -83,28 +201,79 @@ public class Grid {
         return height;
     }
 
+    /**
+     * Eat the grass on a cell and schedule its regrowth. A cell eaten before the n-th
+     * regrowth update grows back on update n + GRASS_REGROWTH_TICKS - 1, exactly when the
+     * old per-cell timer, bumped once per update, reached GRASS_REGROWTH_TICKS.
+     * Safe to call from several agent threads: each slot is locked on its own.
+     */
+    public void eatGrass(int x, int y) {
+        int cell = indexOf(x, y);
+        long bit = 1L << cell;
+        long previous = (long) GRASS_WORDS.getAndBitwiseAnd(grass, cell >>> 6, ~bit);
+        if ((previous & bit) == 0) return;
+        grassCells.decrementAndGet();
+        scheduleRegrowth(cell);
+    }
+
+    private void scheduleRegrowth(int cell) {
+        long due = regrowthUpdates + regrowthTicks - 1;
+        CellQueue slot = regrowthWheel[(int) (due % regrowthWheel.length)];
+        synchronized (slot) {
+            slot.add(cell);
+        }
+    }
+
+    /**
+     * Regrow only the cells due on this update, so the cost follows grazing, not grid area
+     */
     public void updateGrassRegrowth() {
-        for (int x = 0; x < width; x++) {
-            for (int y = 0; y < height; y++) {
-                cells[x][y].updateGrassRegrowth(Config.GRASS_REGROWTH_TICKS);
+        CellQueue due = regrowthWheel[(int) (regrowthUpdates % regrowthWheel.length)];
+        synchronized (due) {
+            for (int i = 0; i < due.size; i++) {
+                int cell = due.cells[i];
+                GRASS_WORDS.getAndBitwiseOr(grass, cell >>> 6, 1L << cell);
             }
+            grassCells.addAndGet(due.size);
+            due.size = 0;
         }
+        regrowthUpdates++;
     }
 
     /**
-     * Get random empty walkable position
+     * Get random empty walkable position: one uniform draw from the free-cell index.
+     * The cell is not reserved; {@link #claimCell} it before use.
+     * @return null only when every walkable cell is occupied
      */
     public Position getRandomEmptyPosition() {
-        int attempts = 0;
-        while (attempts < 100) {
-            int x = random.nextInt(width);
-            int y = random.nextInt(height);
-            Position pos = new Position(x, y);
+        int cell;
+        synchronized (freeCells) {
+            if (freeCount == 0) return null;
+            cell = freeCells[random.nextInt(freeCount)];
+        }
+        return new Position(cell % width, cell / width);
+    }
 
-            if (cells[x][y].isWalkable() && !agentPositions.containsValue(pos)) {
-                return pos;
+    /**
+     * Pick a random free walkable cell from the closest ring around {@code center} that has one
+     * @return null if every cell within {@code radius} is blocked or taken
+     */
+    public Position getEmptyPositionNear(Position center, int radius) {
+        List<Position> candidates = new ArrayList<>();
+        for (int r = 1; r <= radius; r++) {
+            for (int dx = -r; dx <= r; dx++) {
+                for (int dy = -r; dy <= r; dy++) {
+                    if (Math.max(Math.abs(dx), Math.abs(dy)) != r) continue;
+                    int x = center.x + dx;
+                    int y = center.y + dy;
+                    if (isWithinBounds(x, y) && isWalkable(x, y) && !isOccupied(x, y)) {
+                        candidates.add(new Position(x, y));
+                    }
+                }
+            }
+            if (!candidates.isEmpty()) {
+                return candidates.get(random.nextInt(candidates.size()));
             }
-            attempts++;
         }
         return null;
     }
@@ -113,20 +282,21 @@ public class Grid {
      * Calculate grass coverage percentage
      */
     public double getGrassCoverage() {
-        int grassCount = 0;
-        int walkableCells = 0;
+        return walkableCells > 0 ? (double) grassCells.get() / walkableCells : 0.0;
+    }
 
-        for (int x = 0; x < width; x++) {
-            for (int y = 0; y < height; y++) {
-                if (cells[x][y].isWalkable()) {
-                    walkableCells++;
-                    if (cells[x][y].hasGrass()) {
-                        grassCount++;
-                    }
-                }
+    /**
+     * Growable list of row-major cell indices
+     */
+    private static final class CellQueue {
+        int[] cells = new int[16];
+        int size;
+
+        void add(int cell) {
+            if (size == cells.length) {
+                cells = Arrays.copyOf(cells, size * 2);
             }
+            cells[size++] = cell;
         }
-
-        return walkableCells > 0 ? (double) grassCount / walkableCells : 0.0;
     }
 }
@@ -0,0 +1,56 @@
+package com.reactive.preypredator.model;
+
+import java.util.SplittableRandom;
+
+/**
+ * Derives independent, reproducible random streams from one master seed.
+ * Streams are keyed by name instead of being handed out in creation order,
+ * so an agent gets the same stream whichever thread or tick creates it,
+ * and no generator is ever shared between threads.
+ */
+public class RandomStreams {
+    private static final long SUBSYSTEM_SALT = 0x5DEECE66DL;
+    private static final long AGENT_SALT = 0x2545F4914F6CDD1DL;
+
+    private final long masterSeed;
+
+    public RandomStreams(long masterSeed) {
+        this.masterSeed = masterSeed;
+    }
+
+    public long getMasterSeed() {
+        return masterSeed;
+    }
+
+    /**
+     * Stream for a simulation subsystem such as "grid" or "spawning"
+     */
+    public SplittableRandom forSubsystem(String name) {
+        return new SplittableRandom(derive(masterSeed ^ SUBSYSTEM_SALT, name));
+    }
+
+    /**
+     * Stream private to one agent, keyed by its unique id
+     */
+    public SplittableRandom forAgent(String agentId) {
+        return new SplittableRandom(derive(masterSeed ^ AGENT_SALT, agentId));
+    }
+
+    /**
+     * FNV-1a over the key followed by the MurmurHash3 finaliser: a full 64-bit
+     * mix, unlike String.hashCode which collides on short ids
+     */
+    private static long derive(long seed, String key) {
+        long h = seed ^ 0xCBF29CE484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
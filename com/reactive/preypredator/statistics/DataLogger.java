@@ -11,10 +11,12 @@ import java.util.LinkedList;
 public class DataLogger {
     private final String csvFilePath;
     private final LinkedList<Statistics> history;
+    private final boolean consoleSummaries;
     private PrintWriter csvWriter;
 
-    public DataLogger(String csvFilePath) {
+    public DataLogger(String csvFilePath, boolean consoleSummaries) {
         this.csvFilePath = csvFilePath;
+        this.consoleSummaries = consoleSummaries;
         this.history = new LinkedList<>();
         initializeCSV();
     }
@@ -45,7 +47,7 @@ public class DataLogger {
         }
 
         // DETAILED CONSOLE OUTPUT every 5 ticks or first 20 ticks
-        if (stats.getTick() % 5 == 0 || stats.getTick() <= 20) {
+        if (consoleSummaries && (stats.getTick() % 5 == 0 || stats.getTick() <= 20)) {
             System.out.println("═══════════════════════════════════════════════════════");
             System.out.printf("TICK %d SUMMARY:%n", stats.getTick());
             System.out.println("───────────────────────────────────────────────────────");
@@ -86,6 +88,10 @@ public class DataLogger {
         }
         System.out.println("════════════════════════════════════════════════════════\n");
 
+        close();
+    }
+
+    public void close() {
         if (csvWriter != null) {
             csvWriter.close();
         }
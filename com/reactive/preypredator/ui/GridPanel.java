@@ -30,11 +30,21 @@ public class GridPanel extends JPanel {
                 BorderFactory.createEmptyBorder(5, 5, 5, 5)
         ));
 
-        int width = Config.GRID_WIDTH * Config.CELL_SIZE;
-        int height = Config.GRID_HEIGHT * Config.CELL_SIZE;
-
         // Create double buffer
-        initializeBuffer(width, height);
+        sizeToGrid();
+    }
+
+    /**
+     * Size the double buffer to the environment's grid, or to the default grid until one is set
+     */
+    private void sizeToGrid() {
+        int columns = environment != null ? environment.getConfig().gridWidth : Config.GRID_WIDTH;
+        int rows = environment != null ? environment.getConfig().gridHeight : Config.GRID_HEIGHT;
+        int width = columns * Config.CELL_SIZE;
+        int height = rows * Config.CELL_SIZE;
+        if (gridBuffer == null || gridBuffer.getWidth() != width || gridBuffer.getHeight() != height) {
+            initializeBuffer(width, height);
+        }
     }
 
     private void initializeBuffer(int width, int height) {
@@ -109,7 +119,7 @@ public class GridPanel extends JPanel {
             bufferGraphics.fillOval(centerX - radius / 2, centerY - radius / 2, radius, radius / 2);
 
             // Energy bar
-            drawModernEnergyBar(bufferGraphics, pos, prey.getEnergy(), Config.PREY_ENERGY_MAX, cellSize);
+            drawModernEnergyBar(bufferGraphics, pos, prey.getEnergy(), environment.getConfig().preyEnergyMax, cellSize);
         }
 
         // Draw predator agents with shadow effect
@@ -137,7 +147,7 @@ public class GridPanel extends JPanel {
             bufferGraphics.fillOval(centerX - radius / 2, centerY - radius / 2, radius, radius / 2);
 
             // Energy bar
-            drawModernEnergyBar(bufferGraphics, pos, predator.getEnergy(), Config.PREDATOR_ENERGY_MAX, cellSize);
+            drawModernEnergyBar(bufferGraphics, pos, predator.getEnergy(), environment.getConfig().predatorEnergyMax, cellSize);
         }
 
         // Draw the buffer to screen
@@ -188,6 +198,7 @@ public class GridPanel extends JPanel {
     }
     public void setEnvironment(ReactiveEnvironment environment) {
         this.environment = environment;
+        sizeToGrid();
     }
 
 }
@@ -59,8 +59,8 @@ public class SimulationUI extends JFrame {
 
         // Left side: Large grid panel
         gridPanel = new GridPanel(environment);
-        gridPanel.setPreferredSize(new Dimension(Config.GRID_WIDTH * Config.CELL_SIZE,
-                Config.GRID_HEIGHT * Config.CELL_SIZE));
+        gridPanel.setPreferredSize(new Dimension(environment.getConfig().gridWidth * Config.CELL_SIZE,
+                environment.getConfig().gridHeight * Config.CELL_SIZE));
 
         // Right side: Curve and config
         JPanel rightPanel = new JPanel(new BorderLayout(0, 10));